@@ -21,6 +21,9 @@ public class RabbitMQConfig {
     @Value("${rabbit.routingKey}")
     private String routingKey;
 
+    @Value("${rabbit.cacheInvalidationExchangeName}")
+    private String cacheInvalidationExchangeName;
+
     @Bean
     public Queue emailQueue() {
         return new Queue(queueName, false);
@@ -32,8 +35,27 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding binding(Queue queue, DirectExchange exchange) {
-        return BindingBuilder.bind(queue).to(exchange).with(routingKey);
+    public Binding binding(Queue emailQueue, DirectExchange exchange) {
+        return BindingBuilder.bind(emailQueue).to(exchange).with(routingKey);
+    }
+
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(cacheInvalidationExchangeName);
+    }
+
+    /**
+     * Uniquely named, exclusive and auto-delete queue, so every node receives every cache invalidation
+     * and the queue disappears with the node.
+     */
+    @Bean
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cacheInvalidationBinding(Queue cacheInvalidationQueue, FanoutExchange cacheInvalidationExchange) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
     }
 
     @Bean
@@ -0,0 +1,45 @@
+package dev.profitsoft.videogames.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class UploadExecutorConfig {
+
+    @Value("${upload.jobs.threads}")
+    private int threads;
+
+    @Value("${upload.jobs.queueCapacity}")
+    private int queueCapacity;
+
+    @Value("${upload.validation.threads}")
+    private int validationThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("game-upload-");
+        return executor;
+    }
+
+    /**
+     * Worker pool validating and mapping upload chunks.
+     * Uses one thread per available processor when {@code upload.validation.threads} is 0.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadValidationExecutor() {
+        int poolSize = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("game-upload-validation-");
+        return executor;
+    }
+}
@@ -3,17 +3,22 @@ package dev.profitsoft.videogames.controller;
 import dev.profitsoft.videogames.dto.game.*;
 import dev.profitsoft.videogames.dto.response.RestResponse;
 import dev.profitsoft.videogames.service.GameService;
+import dev.profitsoft.videogames.service.GameUploadJobService;
+import dev.profitsoft.videogames.service.GameUploadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -27,6 +32,8 @@ import org.springframework.web.multipart.MultipartFile;
 public class GameController {
 
     private final GameService gameService;
+    private final GameUploadService gameUploadService;
+    private final GameUploadJobService gameUploadJobService;
 
     /**
      * Endpoint to add a new game.
@@ -67,6 +74,22 @@ public class GameController {
         return ResponseEntity.ok(game);
     }
 
+    /**
+     * Endpoint to retrieve several games by their IDs at once.
+     *
+     * @param dto The GameBatchRequestDTO containing the IDs of the games.
+     * @return ResponseEntity containing the games found and the IDs that were not found.
+     */
+    @Operation(
+            summary = "Retrieve games by IDs",
+            description = "Retrieves up to 1000 games by their IDs with a single query and reports the IDs not found."
+    )
+    @PostMapping("/_batch")
+    public ResponseEntity<GameBatchDTO> getGames(@Valid @RequestBody GameBatchRequestDTO dto) {
+        GameBatchDTO resultDTO = gameService.getGames(dto.getIds());
+        return ResponseEntity.ok(resultDTO);
+    }
+
     /**
      * Endpoint to update an existing game.
      *
@@ -123,11 +146,45 @@ public class GameController {
             description = "Retrieves a list of games based on specified filters."
     )
     @PostMapping("/_list")
-    public ResponseEntity<GameListDTO> retrieveGamesByFilters(@RequestBody GameSearchDTO dto) {
+    public ResponseEntity<GameListDTO> retrieveGamesByFilters(
+            @Validated({Default.class, GameSearchDTO.Paging.class}) @RequestBody GameSearchDTO dto) {
         GameListDTO resultDTO = gameService.retrieveGamesByFilters(dto);
         return ResponseEntity.ok(resultDTO);
     }
 
+    /**
+     * Endpoint to count games matching the specified filters per year, developer and genre.
+     *
+     * @param dto The GameSearchDTO containing filtering criteria.
+     * @return ResponseEntity containing the facet counts.
+     */
+    @Operation(
+            summary = "Count games per year, developer and genre",
+            description = "Retrieves the number of games matching the filters for every year, developer and genre."
+    )
+    @PostMapping("/_facets")
+    public ResponseEntity<GameFacetsDTO> getFacets(@Valid @RequestBody GameSearchDTO dto) {
+        GameFacetsDTO resultDTO = gameService.getFacets(dto);
+        return ResponseEntity.ok(resultDTO);
+    }
+
+    /**
+     * Endpoint to search games by title.
+     *
+     * @param dto The GameTitleSearchDTO containing the query and page.
+     * @return ResponseEntity containing the best matching games and the cursor of the next page.
+     */
+    @Operation(
+            summary = "Search games by title",
+            description = "Retrieves games whose title starts with the query or contains a word similar to it, "
+                    + "best matches first. Pass nextCursor as 'after' to get the next page."
+    )
+    @PostMapping("/_search")
+    public ResponseEntity<GameListDTO> searchGamesByTitle(@Valid @RequestBody GameTitleSearchDTO dto) {
+        GameListDTO resultDTO = gameService.searchGamesByTitle(dto);
+        return ResponseEntity.ok(resultDTO);
+    }
+
     /**
      * Endpoint to generate a report based on specified filters that can be downloaded to CSV-file.
      * Optional filters: developerId, yearReleased
@@ -148,22 +205,98 @@ public class GameController {
      * Endpoint to upload games from a JSON file.
      *
      * @param multipart The MultipartFile containing the JSON file to upload.
+     * @param mode      The way games are written to the database.
      * @return ResponseEntity containing information about the uploaded games.
      */
     @Operation(
             summary = "Upload games from JSON file",
-            description = "Uploads games from a JSON file."
+            description = "Uploads games from a JSON array or NDJSON file, optionally gzip-compressed."
     )
     @ApiResponse(responseCode = "201", description = "Games from JSON-file added successfully")
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<GameUploadDTO> uploadGamesFromJsonFile(
             @Parameter(
-                    description = "JSON file containing game data",
+                    description = "JSON array or NDJSON file containing game data, optionally gzip-compressed",
                     required = true,
                     content = @Content(mediaType = "multipart/form-data")
             )
-            @RequestPart("file") MultipartFile multipart) {
-        GameUploadDTO dto = gameService.uploadGamesFromJsonFile(multipart);
+            @RequestPart("file") MultipartFile multipart,
+            @Parameter(description = "BATCH inserts in committed chunks, COPY bulk loads the file in one transaction")
+            @RequestParam(defaultValue = "BATCH") UploadMode mode) {
+        GameUploadDTO dto = gameUploadService.uploadGamesFromJsonFile(multipart, mode);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+
+    /**
+     * Endpoint to upload games from the raw request body.
+     * The body is parsed while it is received, without multipart buffering.
+     *
+     * @param request The request with a JSON array or NDJSON body, optionally gzip-compressed.
+     * @param mode    The way games are written to the database.
+     * @return ResponseEntity containing information about the uploaded games.
+     */
+    @Operation(
+            summary = "Upload games from request body",
+            description = "Streams games from a JSON array or NDJSON request body, optionally gzip-compressed."
+    )
+    @ApiResponse(responseCode = "201", description = "Games from request body added successfully")
+    @PostMapping(value = "/upload/_stream", consumes = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE
+    })
+    public ResponseEntity<GameUploadDTO> uploadGamesFromRequestBody(
+            HttpServletRequest request,
+            @Parameter(description = "BATCH inserts in committed chunks, COPY bulk loads the body in one transaction")
+            @RequestParam(defaultValue = "BATCH") UploadMode mode) {
+        GameUploadDTO dto = gameUploadService.uploadGamesFromRequestBody(request, mode);
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
     }
+
+    /**
+     * Endpoint to upload games from a JSON file in the background.
+     *
+     * @param multipart The MultipartFile containing the JSON file to upload.
+     * @param mode      The way games are written to the database.
+     * @return ResponseEntity containing the queued upload job with HTTP status 202 (Accepted).
+     */
+    @Operation(
+            summary = "Upload games from JSON file asynchronously",
+            description = "Queues a JSON array or NDJSON file, optionally gzip-compressed, for upload "
+                    + "and returns a job ID to poll the progress with."
+    )
+    @ApiResponse(responseCode = "202", description = "Upload job accepted")
+    @PostMapping(value = "/upload/_async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GameUploadJobDTO> submitUploadJob(
+            @Parameter(
+                    description = "JSON array or NDJSON file containing game data, optionally gzip-compressed",
+                    required = true,
+                    content = @Content(mediaType = "multipart/form-data")
+            )
+            @RequestPart("file") MultipartFile multipart,
+            @Parameter(description = "BATCH inserts in committed chunks, COPY bulk loads the file in one transaction")
+            @RequestParam(defaultValue = "BATCH") UploadMode mode) {
+        GameUploadJobDTO job = gameUploadJobService.submit(multipart, mode);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Endpoint to retrieve the progress of an asynchronous upload job.
+     *
+     * @param jobId The ID of the upload job.
+     * @return ResponseEntity containing the state of the upload job with HTTP status 200 (OK).
+     */
+    @Operation(
+            summary = "Retrieve upload job progress",
+            description = "Returns processed, succeeded and failed counts and throughput of an upload job."
+    )
+    @GetMapping("/upload/{jobId}")
+    public ResponseEntity<GameUploadJobDTO> getUploadJob(
+            @Parameter(
+                    description = "ID of the upload job",
+                    required = true
+            )
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(gameUploadJobService.getJob(jobId));
+    }
 }
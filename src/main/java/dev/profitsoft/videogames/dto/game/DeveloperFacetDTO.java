@@ -0,0 +1,13 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Value;
+
+/**
+ * Represents a DTO with the number of games of a developer.
+ */
+@Value
+public class DeveloperFacetDTO {
+    Long id;
+    String name;
+    long count;
+}
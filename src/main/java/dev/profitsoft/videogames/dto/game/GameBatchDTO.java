@@ -0,0 +1,14 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents a DTO with the games found by their IDs and the IDs that were not found, both in request order.
+ */
+@Value
+public class GameBatchDTO {
+    List<GameDTO> games;
+    List<Long> missingIds;
+}
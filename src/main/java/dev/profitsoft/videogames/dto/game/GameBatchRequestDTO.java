@@ -0,0 +1,25 @@
+package dev.profitsoft.videogames.dto.game;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Represents a DTO for retrieving several games by their IDs at once.
+ */
+@Getter
+@Setter
+public class GameBatchRequestDTO {
+
+    /**
+     * The IDs of the games to retrieve.
+     * From 1 to 1000 IDs, duplicates are returned once.
+     */
+    @NotEmpty(message = "ids are required")
+    @Size(max = 1000, message = "At most {max} ids can be requested at once")
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+}
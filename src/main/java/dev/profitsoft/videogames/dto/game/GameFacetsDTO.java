@@ -0,0 +1,28 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a DTO with the number of games matching a filter per year, developer and genre.
+ */
+@Value
+public class GameFacetsDTO {
+
+    /**
+     * The number of games per year of release, in ascending order of years.
+     */
+    Map<Integer, Long> years;
+
+    /**
+     * The number of games per developer, in order of developer names.
+     */
+    List<DeveloperFacetDTO> developers;
+
+    /**
+     * The number of games per genre name, in order of names. A game counts once for every genre it has.
+     */
+    Map<String, Long> genres;
+}
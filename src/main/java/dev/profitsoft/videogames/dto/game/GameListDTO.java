@@ -1,13 +1,19 @@
 package dev.profitsoft.videogames.dto.game;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Value;
 
 import java.util.List;
 
 /**
- * Represents a DTO with the list of games and totalPages of results.
+ * Represents a DTO with the list of games and either totalPages of results (OFFSET pagination)
+ * or the cursor of the next page (CURSOR pagination).
+ * totalPages is exact, estimated or absent depending on the requested TotalMode.
  */
 @Value
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GameListDTO {
 
     /**
@@ -16,7 +22,17 @@ public class GameListDTO {
     List<GameInfoDTO> games;
 
     /**
-     * The total number of pages in the paginated list of games.
+     * The total number of pages in the paginated list of games, absent in CURSOR mode and with TotalMode NONE.
      */
-    int totalPages;
+    Integer totalPages;
+
+    /**
+     * The cursor to request the next page with, absent in OFFSET mode and on the last page.
+     */
+    String nextCursor;
+
+    /**
+     * Whether there are more games after this page.
+     */
+    Boolean hasNext;
 }
@@ -0,0 +1,12 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Value;
+
+/**
+ * Represents a DTO with the columns of a single row of the games report (title and genre).
+ */
+@Value
+public class GameReportRowDTO {
+    String title;
+    String genre;
+}
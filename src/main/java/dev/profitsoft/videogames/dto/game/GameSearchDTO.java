@@ -4,11 +4,21 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.Value;
 
+import java.util.List;
+
 /**
  * Represents a DTO for specifying search criteria when retrieving games.
+ * The paging fields are only validated for requests that return a page, see {@link Paging}.
  */
 @Value
 public class GameSearchDTO {
+
+    /**
+     * Validation group of the constraints on the paging fields, which facets and reports do not use.
+     */
+    public interface Paging {
+    }
+
     Long developerId;
 
     /**
@@ -20,16 +30,53 @@ public class GameSearchDTO {
     Integer yearReleased;
 
     /**
-     * The page number for pagination (1-based index).
+     * The names of the genres to filter games by (optional).
+     */
+    List<String> genres;
+
+    /**
+     * Whether a game must have any (default) or all of the genres.
+     */
+    GenreMatch genreMatch;
+
+    /**
+     * The page number for pagination (1-based index), 1 by default.
      * Must be at least 1.
      */
-    @Min(value = 1, message = "Page number must be at least {value}")
-    int page;
+    @Min(value = 1, message = "Page number must be at least {value}", groups = Paging.class)
+    Integer page;
 
     /**
      * The page size for pagination.
      * Must be at least 1.
      */
-    @Min(value = 1, message = "Page size must be at least {value}")
+    @Min(value = 1, message = "Page size must be at least {value}", groups = Paging.class)
     int size;
+
+    /**
+     * The way of paging through the results, OFFSET by default.
+     * CURSOR mode ignores the page number and is implied when a cursor is given.
+     */
+    PaginationMode pagination;
+
+    /**
+     * The cursor returned as nextCursor with the previous page, only used in CURSOR mode.
+     * The first page is requested without a cursor.
+     */
+    String after;
+
+    /**
+     * The way of computing totalPages in OFFSET mode, EXACT by default.
+     */
+    TotalMode total;
+
+    /**
+     * The field to sort games by, ID by default. Games with the same value are ordered by id.
+     */
+    GameSortField sort;
+
+    /**
+     * The direction to sort games in, ASC by default.
+     */
+    SortDirection direction;
 }
@@ -0,0 +1,25 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fields a list of games can be sorted by. Games with the same value are ordered by id in the same direction.
+ * Every field is backed by indexes ending with the id column, so sorted pages are read in index order.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum GameSortField {
+
+    ID("id"),
+
+    YEAR_RELEASED("yearReleased"),
+
+    TITLE("title");
+
+    /**
+     * The name of the sorted property of the game entity.
+     */
+    private final String property;
+
+}
@@ -0,0 +1,36 @@
+package dev.profitsoft.videogames.dto.game;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Value;
+
+/**
+ * Represents a DTO for searching games by title.
+ */
+@Value
+public class GameTitleSearchDTO {
+
+    /**
+     * The text to search for (required).
+     * Matches titles starting with it and titles containing a word similar to it, so typos are tolerated.
+     */
+    @NotBlank(message = "query is required")
+    @Size(max = 255, message = "query must be at most {max} characters")
+    String query;
+
+    /**
+     * The page size.
+     * From 1 to 100 included.
+     */
+    @Min(value = 1, message = "Page size must be at least {value}")
+    @Max(value = 100, message = "Page size should be less than or equal to {value}")
+    int size;
+
+    /**
+     * The cursor returned as nextCursor with the previous page.
+     * The first page is requested without a cursor.
+     */
+    String after;
+}
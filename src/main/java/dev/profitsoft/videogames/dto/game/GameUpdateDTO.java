@@ -3,6 +3,7 @@ package dev.profitsoft.videogames.dto.game;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Value;
 
 /**
@@ -15,6 +16,7 @@ public class GameUpdateDTO {
      * The title of the game to update (required).
      */
     @NotBlank(message = "title is required")
+    @Size(max = 255, message = "title must be at most {max} characters")
     String title;
 
     /**
@@ -34,5 +36,6 @@ public class GameUpdateDTO {
     /**
      * The genre of the game.
      */
+    @Size(max = 255, message = "genre must be at most {max} characters")
     String genre;
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package dev.profitsoft.videogames.dto.game;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Represents a DTO with the state and progress of an asynchronous upload job.
+ */
+@Value
+public class GameUploadJobDTO {
+
+    /**
+     * The unique ID of the job, used to poll its progress.
+     */
+    String jobId;
+
+    /**
+     * The current state of the job.
+     */
+    UploadJobStatus status;
+
+    /**
+     * The number of games processed so far.
+     */
+    int processed;
+
+    /**
+     * The number of games saved so far.
+     */
+    int successUploads;
+
+    /**
+     * The number of games rejected so far.
+     */
+    int failUploads;
+
+    /**
+     * The average number of processed games per second since the job started.
+     */
+    double gamesPerSecond;
+
+    /**
+     * The time the job started processing, null while queued.
+     */
+    Instant startedAt;
+
+    /**
+     * The time the job finished, null while queued or running.
+     */
+    Instant finishedAt;
+
+    /**
+     * The error that stopped the job, null unless the job failed.
+     */
+    String error;
+}
@@ -0,0 +1,18 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Ways of matching games against a list of genres.
+ */
+public enum GenreMatch {
+
+    /**
+     * The game has at least one of the genres.
+     */
+    ANY,
+
+    /**
+     * The game has all of the genres.
+     */
+    ALL
+
+}
@@ -0,0 +1,19 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Ways of paging through a list of games.
+ */
+public enum PaginationMode {
+
+    /**
+     * Pages are addressed by number, the response contains the total number of pages.
+     */
+    OFFSET,
+
+    /**
+     * Pages are addressed by the cursor of the previous page, the response contains the cursor of the next page.
+     * Every page costs the same regardless of how deep it is.
+     */
+    CURSOR
+
+}
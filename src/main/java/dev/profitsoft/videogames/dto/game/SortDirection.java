@@ -0,0 +1,12 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Directions a list of games can be sorted in.
+ */
+public enum SortDirection {
+
+    ASC,
+
+    DESC
+
+}
@@ -0,0 +1,23 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Ways of computing the total number of pages of a game list in OFFSET pagination.
+ */
+public enum TotalMode {
+
+    /**
+     * The games matching the filters are counted on every request.
+     */
+    EXACT,
+
+    /**
+     * Nothing is counted, the response only tells whether there is a next page.
+     */
+    NONE,
+
+    /**
+     * The total is taken from the query planner statistics, which costs no table scan but may be inaccurate.
+     */
+    ESTIMATED
+
+}
@@ -0,0 +1,13 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Lifecycle states of an asynchronous upload job.
+ */
+public enum UploadJobStatus {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
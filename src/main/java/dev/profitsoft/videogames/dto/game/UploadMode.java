@@ -0,0 +1,19 @@
+package dev.profitsoft.videogames.dto.game;
+
+/**
+ * Ways of writing uploaded games to the database.
+ */
+public enum UploadMode {
+
+    /**
+     * Games are inserted through JPA in committed chunks using JDBC batches.
+     */
+    BATCH,
+
+    /**
+     * Games are streamed with PostgreSQL COPY into a staging table and merged in one statement.
+     * The whole upload is a single transaction.
+     */
+    COPY
+
+}
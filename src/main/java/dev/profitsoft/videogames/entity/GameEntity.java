@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Represents a game entity in the application.
  */
@@ -14,10 +17,11 @@ import lombok.Setter;
 public class GameEntity {
 
     /**
-     * The unique ID.
+     * The unique ID, allocated from the pooled game_seq sequence so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -29,8 +33,9 @@ public class GameEntity {
 
     /**
      * The developer of the game (many-to-one relationship with DeveloperEntity).
+     * Loaded lazily, queries that need it fetch it explicitly.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "developer_id", nullable = false)
     private DeveloperEntity developer;
 
@@ -45,4 +50,14 @@ public class GameEntity {
      */
     @Column(name = "genre")
     private String genre;
+
+    /**
+     * The genres named in the genre text (many-to-many relationship with GenreEntity).
+     * Kept in sync with the genre text on every write, used for filtering by genre.
+     */
+    @ManyToMany
+    @JoinTable(name = "game_genre",
+            joinColumns = @JoinColumn(name = "game_id"),
+            inverseJoinColumns = @JoinColumn(name = "genre_id"))
+    private Set<GenreEntity> genres = new HashSet<>();
 }
\ No newline at end of file
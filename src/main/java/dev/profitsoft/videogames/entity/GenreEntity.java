@@ -0,0 +1,29 @@
+package dev.profitsoft.videogames.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents a genre entity in database, an entry of the genre dictionary.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "genre")
+public class GenreEntity {
+
+    /**
+     * Unique id.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * Name of the genre.
+     */
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,68 @@
+package dev.profitsoft.videogames.entity;
+
+import dev.profitsoft.videogames.dto.game.UploadJobStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Represents the state of an asynchronous upload job in database, shared by all nodes.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "upload_job")
+public class UploadJobEntity {
+
+    /**
+     * Unique id, a random UUID.
+     */
+    @Id
+    @Column(name = "id", nullable = false)
+    private String id;
+
+    /**
+     * The state of the job when it was last written.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private UploadJobStatus status;
+
+    /**
+     * Number of games saved so far.
+     */
+    @Column(name = "success", nullable = false)
+    private int success;
+
+    /**
+     * Number of games rejected so far.
+     */
+    @Column(name = "fail", nullable = false)
+    private int fail;
+
+    /**
+     * Time the job started processing.
+     */
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    /**
+     * Time the job finished.
+     */
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    /**
+     * Time the node running the job last wrote it, used to detect jobs of nodes that stopped.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * The error that stopped the job.
+     */
+    @Column(name = "error")
+    private String error;
+}
@@ -0,0 +1,38 @@
+package dev.profitsoft.videogames.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Message broadcast to all nodes after games or developers are written, so every node evicts them from its caches.
+ */
+@Value
+public class CacheInvalidationMessage {
+
+    /**
+     * The kind of the written entities.
+     */
+    EntityType type;
+
+    /**
+     * The IDs of the written entities, null if all cached entities of the type must be evicted.
+     */
+    List<Long> ids;
+
+    /**
+     * The developers and years of release of the written games, before and after the write, for evicting
+     * cached game lists. Null for developers and if all cached entities must be evicted.
+     */
+    List<GamePartition> partitions;
+
+    /**
+     * The node that sent the message, it has evicted its own caches already.
+     */
+    String origin;
+
+    public enum EntityType {
+        GAME,
+        DEVELOPER
+    }
+}
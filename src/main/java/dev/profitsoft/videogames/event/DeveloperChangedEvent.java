@@ -0,0 +1,15 @@
+package dev.profitsoft.videogames.event;
+
+import lombok.Value;
+
+/**
+ * Application event published when a developer is added, updated or deleted, for caches that copy developer data.
+ */
+@Value
+public class DeveloperChangedEvent {
+
+    /**
+     * The ID of the developer that was added, updated or deleted.
+     */
+    Long developerId;
+}
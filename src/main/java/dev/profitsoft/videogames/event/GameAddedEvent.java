@@ -0,0 +1,15 @@
+package dev.profitsoft.videogames.event;
+
+import lombok.Value;
+
+/**
+ * Application event published when a single game is added, for the notification email sent after the commit.
+ */
+@Value
+public class GameAddedEvent {
+
+    /**
+     * The title of the added game.
+     */
+    String title;
+}
@@ -0,0 +1,16 @@
+package dev.profitsoft.videogames.event;
+
+import lombok.Value;
+
+/**
+ * The developer and year of release of a written game, the criteria that decide which game lists may contain it.
+ */
+@Value
+public class GamePartition {
+    Long developerId;
+    int yearReleased;
+
+    public static GamePartition of(GameSnapshot game) {
+        return new GamePartition(game.getDeveloperId(), game.getYearReleased());
+    }
+}
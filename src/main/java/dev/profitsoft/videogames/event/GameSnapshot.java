@@ -0,0 +1,27 @@
+package dev.profitsoft.videogames.event;
+
+import dev.profitsoft.videogames.entity.GameEntity;
+import lombok.Value;
+
+/**
+ * The column values of a game at the time it was written.
+ */
+@Value
+public class GameSnapshot {
+    Long id;
+    Long developerId;
+    int yearReleased;
+    String title;
+    String genre;
+
+    /**
+     * Copies the values of a saved game, its developer must have an ID.
+     *
+     * @param game The saved game.
+     * @return The values of the game.
+     */
+    public static GameSnapshot of(GameEntity game) {
+        return new GameSnapshot(game.getId(), game.getDeveloper().getId(), game.getYearReleased(),
+                game.getTitle(), game.getGenre());
+    }
+}
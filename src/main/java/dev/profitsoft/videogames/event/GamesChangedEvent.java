@@ -0,0 +1,48 @@
+package dev.profitsoft.videogames.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Application event published in the transaction that writes games, for read models that copy the game table.
+ */
+@Value
+public class GamesChangedEvent {
+
+    /**
+     * The games that were added or updated.
+     */
+    List<GameSnapshot> saved;
+
+    /**
+     * The IDs of the games that were deleted.
+     */
+    List<Long> deletedIds;
+
+    /**
+     * The values of the updated and deleted games before they were written.
+     */
+    List<GameSnapshot> previous;
+
+    /**
+     * Whether games were written without being listed in this event, so copies must be reloaded.
+     */
+    boolean reloadRequired;
+
+    public static GamesChangedEvent saved(List<GameSnapshot> games) {
+        return new GamesChangedEvent(games, List.of(), List.of(), false);
+    }
+
+    public static GamesChangedEvent updated(GameSnapshot previous, GameSnapshot game) {
+        return new GamesChangedEvent(List.of(game), List.of(), List.of(previous), false);
+    }
+
+    public static GamesChangedEvent deleted(GameSnapshot previous) {
+        return new GamesChangedEvent(List.of(), List.of(previous.getId()), List.of(previous), false);
+    }
+
+    public static GamesChangedEvent reloadRequired() {
+        return new GamesChangedEvent(List.of(), List.of(), List.of(), true);
+    }
+}
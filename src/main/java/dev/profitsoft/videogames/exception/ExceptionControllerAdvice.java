@@ -50,6 +50,17 @@ public class ExceptionControllerAdvice {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, getInvalidFields(e));
     }
 
+    /**
+     * Exception handler for InvalidCursorException (malformed pagination cursor).
+     *
+     * @param e The InvalidCursorException that was thrown.
+     * @return ResponseEntity containing an ErrorResponse with HTTP status 400 (Bad Request).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> exceptionInvalidCursorHandler(InvalidCursorException e) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
     /**
      * Exception handler for UniqueValueViolationException (conflict due to unique constraint).
      *
@@ -83,6 +94,28 @@ public class ExceptionControllerAdvice {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
     }
 
+    /**
+     * Exception handler for UploadJobNotFoundException.
+     *
+     * @param e The UploadJobNotFoundException that was thrown.
+     * @return ResponseEntity containing an ErrorResponse with HTTP status 404 (Not Found).
+     */
+    @ExceptionHandler(UploadJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> exceptionUploadJobNotFoundHandler(UploadJobNotFoundException e) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    /**
+     * Exception handler for UploadRejectedException (upload queue is full).
+     *
+     * @param e The UploadRejectedException that was thrown.
+     * @return ResponseEntity containing an ErrorResponse with HTTP status 503 (Service Unavailable).
+     */
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<ErrorResponse> exceptionUploadRejectedHandler(UploadRejectedException e) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
     /**
      * Builds an ErrorResponse with the specified HTTP status and message.
      *
@@ -0,0 +1,11 @@
+package dev.profitsoft.videogames.exception.exceptions;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
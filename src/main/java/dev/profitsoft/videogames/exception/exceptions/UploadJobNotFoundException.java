@@ -0,0 +1,11 @@
+package dev.profitsoft.videogames.exception.exceptions;
+
+/**
+ * Exception thrown when an upload job is not found.
+ */
+public class UploadJobNotFoundException extends RuntimeException {
+
+    public UploadJobNotFoundException(String message) {
+        super(message);
+    }
+}
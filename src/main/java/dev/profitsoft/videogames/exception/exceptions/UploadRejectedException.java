@@ -0,0 +1,11 @@
+package dev.profitsoft.videogames.exception.exceptions;
+
+/**
+ * Exception thrown when an upload job cannot be accepted because the upload queue is full.
+ */
+public class UploadRejectedException extends RuntimeException {
+
+    public UploadRejectedException(String message) {
+        super(message);
+    }
+}
@@ -31,13 +31,14 @@ public interface GameMapper {
     GameDTO toGameDTO(GameEntity gameEntity);
 
     /**
-     * Converts a GameUpdateDTO to a GameEntity, ignoring 'id' and 'developer' properties.
+     * Converts a GameUpdateDTO to a GameEntity, ignoring 'id', 'developer' and 'genres' properties.
      *
      * @param dto The GameUpdateDTO to convert.
      * @return The GameEntity.
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "developer", ignore = true)
+    @Mapping(target = "genres", ignore = true)
     GameEntity toGameEntity(GameUpdateDTO dto);
 
     /**
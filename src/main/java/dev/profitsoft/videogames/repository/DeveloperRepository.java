@@ -4,6 +4,8 @@ import dev.profitsoft.videogames.entity.DeveloperEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +21,12 @@ public interface DeveloperRepository extends JpaRepository<DeveloperEntity, Long
      * @return An Optional containing the DeveloperEntity if found, or empty if not found.
      */
     Optional<DeveloperEntity> findByName(String developerName);
+
+    /**
+     * Finds all developer entities whose name is in the given collection.
+     *
+     * @param developerNames The names of the developers to search for.
+     * @return A List of DeveloperEntity objects with matching names.
+     */
+    List<DeveloperEntity> findAllByNameIn(Collection<String> developerNames);
 }
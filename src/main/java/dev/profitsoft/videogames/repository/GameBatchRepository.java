@@ -0,0 +1,19 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.entity.GameEntity;
+
+import java.util.List;
+
+/**
+ * Repository fragment for inserting large numbers of GameEntity objects with JDBC batching.
+ */
+public interface GameBatchRepository {
+
+    /**
+     * Persists new games in a single transaction, flushing and clearing the persistence context
+     * every {@code upload.batchSize} games so each flush is sent as one JDBC batch.
+     *
+     * @param games The new games to insert.
+     */
+    void saveAllInBatches(List<GameEntity> games);
+}
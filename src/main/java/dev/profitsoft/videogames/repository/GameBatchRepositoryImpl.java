@@ -0,0 +1,35 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.entity.GameEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link GameBatchRepository} based on the EntityManager.
+ */
+public class GameBatchRepositoryImpl implements GameBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${upload.batchSize}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void saveAllInBatches(List<GameEntity> games) {
+        for (int i = 0; i < games.size(); i++) {
+            entityManager.persist(games.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
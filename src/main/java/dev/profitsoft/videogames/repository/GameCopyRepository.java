@@ -0,0 +1,245 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GameUpdateDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Repository for bulk loading games with PostgreSQL COPY.
+ * Rows are streamed into a temporary staging table and merged into the game table with a single statement
+ * that resolves developer_id by developer name.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameCopyRepository {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE game_staging (
+                title TEXT,
+                developer_name TEXT,
+                year_released INT,
+                genre TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_TO_STAGING = """
+            COPY game_staging (title, developer_name, year_released, genre) FROM STDIN WITH (FORMAT csv)
+            """;
+
+    /**
+     * Adds the comma-separated genre names of the staged games to the genre dictionary.
+     */
+    private static final String MERGE_STAGED_GENRES = """
+            INSERT INTO genre (name)
+            SELECT DISTINCT trim(part)
+            FROM game_staging s
+            CROSS JOIN LATERAL unnest(string_to_array(s.genre, ',')) AS part
+            WHERE trim(part) <> ''
+            ON CONFLICT (name) DO NOTHING
+            """;
+
+    /**
+     * Inserts the staged games whose developer exists and whose values fit the game columns, links them to their
+     * genres, adds them to the facet counts, and returns the number of inserted and staged rows.
+     */
+    private static final String MERGE_STAGING = """
+            WITH inserted AS (
+                INSERT INTO game (title, developer_id, year_released, genre)
+                SELECT s.title, d.id, s.year_released, s.genre
+                FROM game_staging s
+                JOIN developer d ON d.name = s.developer_name
+                WHERE char_length(s.title) <= 255
+                AND (s.genre IS NULL OR char_length(s.genre) <= 255)
+                RETURNING id, developer_id, year_released, genre
+            ), linked AS (
+                INSERT INTO game_genre (game_id, genre_id)
+                SELECT DISTINCT i.id, g.id
+                FROM inserted i
+                CROSS JOIN LATERAL unnest(string_to_array(i.genre, ',')) AS part
+                JOIN genre g ON g.name = trim(part)
+                RETURNING game_id, genre_id
+            ), counted AS (
+                INSERT INTO game_facet_count (developer_id, year_released, game_count)
+                SELECT developer_id, year_released, COUNT(*)
+                FROM inserted
+                GROUP BY developer_id, year_released
+                ORDER BY developer_id, year_released
+                ON CONFLICT (developer_id, year_released)
+                DO UPDATE SET game_count = game_facet_count.game_count + EXCLUDED.game_count
+            ), genres_counted AS (
+                INSERT INTO game_genre_facet_count (developer_id, year_released, genre_id, game_count)
+                SELECT i.developer_id, i.year_released, l.genre_id, COUNT(*)
+                FROM linked l
+                JOIN inserted i ON i.id = l.game_id
+                GROUP BY i.developer_id, i.year_released, l.genre_id
+                ORDER BY i.developer_id, i.year_released, l.genre_id
+                ON CONFLICT (developer_id, year_released, genre_id)
+                DO UPDATE SET game_count = game_genre_facet_count.game_count + EXCLUDED.game_count
+            )
+            SELECT (SELECT COUNT(*) FROM inserted), (SELECT COUNT(*) FROM game_staging)
+            """;
+
+    private final DataSource dataSource;
+
+    /**
+     * Opens a COPY session on a new connection and transaction.
+     *
+     * @return The session to write games to.
+     */
+    public GameCopySession openSession() {
+        SQLExceptionTranslator translator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_TO_STAGING);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8));
+            return new GameCopySession(connection, copyStream, writer, translator);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw translator.translate("COPY games", COPY_TO_STAGING, e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.close();
+        } catch (SQLException ignored) {
+            // the connection is discarded anyway
+        }
+    }
+
+    /**
+     * Result of merging the staging table into the game table.
+     */
+    @Value
+    public static class GameCopyResult {
+
+        /**
+         * The number of games inserted into the game table.
+         */
+        int saved;
+
+        /**
+         * The number of games written to the staging table.
+         */
+        int staged;
+    }
+
+    /**
+     * A single COPY load. Nothing is visible in the game table until {@link #merge()} commits,
+     * closing the session without merging rolls everything back.
+     */
+    public static class GameCopySession implements AutoCloseable {
+
+        private final Connection connection;
+        private final PGCopyOutputStream copyStream;
+        private final Writer writer;
+        private final SQLExceptionTranslator translator;
+        private boolean merged;
+
+        private GameCopySession(Connection connection, PGCopyOutputStream copyStream, Writer writer,
+                                SQLExceptionTranslator translator) {
+            this.connection = connection;
+            this.copyStream = copyStream;
+            this.writer = writer;
+            this.translator = translator;
+        }
+
+        /**
+         * Writes games to the staging table as CSV rows.
+         *
+         * @param games The games to stage.
+         * @throws IOException If the rows could not be sent to the database.
+         */
+        public void write(List<GameUpdateDTO> games) throws IOException {
+            for (GameUpdateDTO game : games) {
+                writeText(game.getTitle());
+                writer.write(',');
+                writeText(game.getDeveloperName());
+                writer.write(',');
+                writer.write(Integer.toString(game.getYearReleased()));
+                writer.write(',');
+                writeText(game.getGenre());
+                writer.write('\n');
+            }
+        }
+
+        /**
+         * Finishes the COPY, merges the staged games into the game table and commits.
+         *
+         * @return The number of saved and staged games.
+         * @throws IOException If the remaining rows could not be sent to the database.
+         */
+        public GameCopyResult merge() throws IOException {
+            writer.close();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(MERGE_STAGED_GENRES);
+                ResultSet resultSet = statement.executeQuery(MERGE_STAGING);
+                resultSet.next();
+                GameCopyResult result = new GameCopyResult(resultSet.getInt(1), resultSet.getInt(2));
+                connection.commit();
+                merged = true;
+                return result;
+            } catch (SQLException e) {
+                throw translator.translate("merge staged games", MERGE_STAGING, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (merged) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw translator.translate("close COPY session", null, e);
+                }
+                return;
+            }
+            try {
+                if (copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+            } catch (SQLException ignored) {
+                // the transaction is rolled back below
+            }
+            closeQuietly(connection);
+        }
+
+        /**
+         * Writes a quoted CSV value, null values are written as an unquoted empty string which COPY reads as NULL.
+         */
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
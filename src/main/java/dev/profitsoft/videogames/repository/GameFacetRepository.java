@@ -0,0 +1,150 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.DeveloperFacetDTO;
+import dev.profitsoft.videogames.dto.game.GameFacetsDTO;
+import dev.profitsoft.videogames.entity.GameEntity;
+import dev.profitsoft.videogames.entity.GenreEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Repository for facet counts: the number of games per year, developer and genre.
+ * Counts are kept in two summary tables, game_facet_count per (developer, year) and game_genre_facet_count
+ * per (developer, year, genre), which every write of a game adjusts in the same transaction.
+ * Filters on developer and year are answered from the summary tables; genre filters cannot be derived from them,
+ * so those requests are aggregated from the game table with the indexed genre conditions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameFacetRepository {
+
+    private static final String ADJUST_GAME_COUNT = """
+            INSERT INTO game_facet_count (developer_id, year_released, game_count)
+            VALUES (?, ?, ?)
+            ON CONFLICT (developer_id, year_released)
+            DO UPDATE SET game_count = game_facet_count.game_count + EXCLUDED.game_count
+            """;
+
+    private static final String ADJUST_GENRE_COUNT = """
+            INSERT INTO game_genre_facet_count (developer_id, year_released, genre_id, game_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (developer_id, year_released, genre_id)
+            DO UPDATE SET game_count = game_genre_facet_count.game_count + EXCLUDED.game_count
+            """;
+
+    /**
+     * Counter rows are updated in key order so concurrent writers lock them in the same order.
+     */
+    private static final Comparator<CountKey> KEY_ORDER = Comparator.comparingLong(CountKey::developerId)
+            .thenComparingInt(CountKey::yearReleased)
+            .thenComparingLong(CountKey::genreId);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds games to or removes games from the facet counts. Must run in the transaction that writes the games.
+     *
+     * @param games The facet values of the games.
+     * @param delta 1 for added games, -1 for removed games.
+     */
+    public void adjustCounts(Collection<GameFacets> games, int delta) {
+        Map<CountKey, Long> gameCounts = new TreeMap<>(KEY_ORDER);
+        Map<CountKey, Long> genreCounts = new TreeMap<>(KEY_ORDER);
+        for (GameFacets game : games) {
+            gameCounts.merge(new CountKey(game.getDeveloperId(), game.getYearReleased(), 0), (long) delta, Long::sum);
+            for (Long genreId : game.getGenreIds()) {
+                genreCounts.merge(new CountKey(game.getDeveloperId(), game.getYearReleased(), genreId), (long) delta,
+                        Long::sum);
+            }
+        }
+        jdbcTemplate.batchUpdate(ADJUST_GAME_COUNT, gameCounts.entrySet().stream()
+                .map(count -> new Object[]{count.getKey().developerId(), count.getKey().yearReleased(), count.getValue()})
+                .toList());
+        jdbcTemplate.batchUpdate(ADJUST_GENRE_COUNT, genreCounts.entrySet().stream()
+                .map(count -> new Object[]{count.getKey().developerId(), count.getKey().yearReleased(),
+                        count.getKey().genreId(), count.getValue()})
+                .toList());
+    }
+
+    /**
+     * Counts the games matching the filter per year, developer and genre.
+     *
+     * @param filter The filtering criteria.
+     * @return The facet counts, values without games are absent.
+     */
+    public GameFacetsDTO findFacets(GameFilter filter) {
+        boolean fromSummary = filter.getGenres().isEmpty();
+        String gameSource = fromSummary ? "game_facet_count c" : "game c";
+        String genreSource = fromSummary
+                ? "game_genre_facet_count c JOIN genre ge ON ge.id = c.genre_id"
+                : "game c JOIN game_genre cg ON cg.game_id = c.id JOIN genre ge ON ge.id = cg.genre_id";
+        String count = fromSummary ? "SUM(c.game_count)" : "COUNT(*)";
+
+        Map<Integer, Long> years = new LinkedHashMap<>();
+        query("SELECT c.year_released, " + count + " FROM " + gameSource, filter,
+                "c.year_released", count, "c.year_released",
+                row -> years.put(row.getInt(1), row.getLong(2)));
+
+        List<DeveloperFacetDTO> developers = new ArrayList<>();
+        query("SELECT d.id, d.name, " + count + " FROM " + gameSource + " JOIN developer d ON d.id = c.developer_id",
+                filter, "d.id, d.name", count, "d.name",
+                row -> developers.add(new DeveloperFacetDTO(row.getLong(1), row.getString(2), row.getLong(3))));
+
+        Map<String, Long> genres = new LinkedHashMap<>();
+        query("SELECT ge.name, " + count + " FROM " + genreSource, filter,
+                "ge.name", count, "ge.name",
+                row -> genres.put(row.getString(1), row.getLong(2)));
+
+        return new GameFacetsDTO(years, developers, genres);
+    }
+
+    private void query(String select, GameFilter filter, String groupBy, String count, String orderBy,
+                       RowCallbackHandler rowHandler) {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        GameFilterSql.appendConditions(sql, args, filter, "c");
+        sql.append(" GROUP BY ").append(groupBy)
+                .append(" HAVING ").append(count).append(" > 0")
+                .append(" ORDER BY ").append(orderBy);
+        jdbcTemplate.query(sql.toString(), rowHandler, args.toArray());
+    }
+
+    /**
+     * The values of a game that facets are counted by.
+     */
+    @Value
+    public static class GameFacets {
+        long developerId;
+        int yearReleased;
+        Set<Long> genreIds;
+
+        /**
+         * Reads the facet values of a game, its developer and genres must have IDs.
+         *
+         * @param game The game.
+         * @return The facet values of the game.
+         */
+        public static GameFacets of(GameEntity game) {
+            Set<Long> genreIds = game.getGenres().stream()
+                    .map(GenreEntity::getId)
+                    .collect(Collectors.toSet());
+            return new GameFacets(game.getDeveloper().getId(), game.getYearReleased(), genreIds);
+        }
+    }
+
+    private record CountKey(long developerId, int yearReleased, long genreId) {
+    }
+}
@@ -0,0 +1,33 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GenreMatch;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Optional criteria for filtering games, a null criterion does not restrict the result.
+ */
+@Value
+public class GameFilter {
+
+    /**
+     * The ID of the developer of the game.
+     */
+    Long developerId;
+
+    /**
+     * The year the game was released.
+     */
+    Integer yearReleased;
+
+    /**
+     * The names of the genres of the game, empty for no restriction.
+     */
+    Set<String> genres;
+
+    /**
+     * Whether a game must have any or all of the genres.
+     */
+    GenreMatch genreMatch;
+}
@@ -0,0 +1,52 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GenreMatch;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Renders a GameFilter as SQL conditions for the JDBC-based repositories.
+ */
+final class GameFilterSql {
+
+    private GameFilterSql() {
+    }
+
+    /**
+     * Appends an AND-ed condition with ? placeholders for every criterion that is set.
+     *
+     * @param sql    The statement ending in a WHERE clause.
+     * @param args   The arguments of the placeholders, extended in order.
+     * @param filter The filtering criteria.
+     * @param alias  The alias of the table with developer_id and year_released columns,
+     *               it must be the game table when the filter has genres.
+     */
+    static void appendConditions(StringBuilder sql, List<Object> args, GameFilter filter, String alias) {
+        if (filter.getDeveloperId() != null) {
+            sql.append(" AND ").append(alias).append(".developer_id = ?");
+            args.add(filter.getDeveloperId());
+        }
+        if (filter.getYearReleased() != null) {
+            sql.append(" AND ").append(alias).append(".year_released = ?");
+            args.add(filter.getYearReleased());
+        }
+        if (!filter.getGenres().isEmpty()) {
+            if (filter.getGenreMatch() == GenreMatch.ALL) {
+                filter.getGenres().forEach(genre -> appendHasAnyGenre(sql, args, List.of(genre), alias));
+            } else {
+                appendHasAnyGenre(sql, args, filter.getGenres(), alias);
+            }
+        }
+    }
+
+    private static void appendHasAnyGenre(StringBuilder sql, List<Object> args, Collection<String> genres,
+                                          String alias) {
+        sql.append(" AND EXISTS (SELECT 1 FROM game_genre gg JOIN genre ge ON ge.id = gg.genre_id")
+                .append(" WHERE gg.game_id = ").append(alias).append(".id AND ge.name IN (")
+                .append(String.join(", ", Collections.nCopies(genres.size(), "?")))
+                .append("))");
+        args.addAll(genres);
+    }
+}
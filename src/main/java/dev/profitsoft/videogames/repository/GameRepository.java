@@ -1,53 +1,35 @@
 package dev.profitsoft.videogames.repository;
 
 import dev.profitsoft.videogames.entity.GameEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing CRUD operations on GameEntity entities.
  */
 @Repository
-public interface GameRepository extends JpaRepository<GameEntity, Long> {
+public interface GameRepository extends JpaRepository<GameEntity, Long>, GameBatchRepository, GameSearchRepository {
 
     /**
-     * Retrieves a page of GameEntity objects based on optional filtering criteria.
+     * Retrieves a game by ID together with its developer in a single query.
      *
-     * @param developerId   The ID of the developer (optional).
-     * @param yearReleased  The year of release (optional).
-     * @param pageable      The pagination information for the result set.
-     * @return A Page of GameEntity objects matching the specified filters.
+     * @param id The ID of the game.
+     * @return An Optional containing the game with its developer, or empty if not found.
      */
-    @Query(value = """
-            SELECT g
-            FROM GameEntity g
-            WHERE (?1 IS NULL OR g.developer.id = ?1)
-            AND (?2 IS NULL OR g.yearReleased = ?2)
-            """, countQuery = """
-            SELECT COUNT(g)
-            FROM GameEntity g
-            WHERE (?1 IS NULL OR g.developer.id = ?1)
-            AND (?2 IS NULL OR g.yearReleased = ?2)
-            """)
-    Page<GameEntity> findGamesWithFilters(Long developerId, Integer yearReleased, Pageable pageable);
+    @EntityGraph(attributePaths = "developer")
+    Optional<GameEntity> findWithDeveloperById(Long id);
 
     /**
-     * Retrieves a list of GameEntity objects based on optional filtering criteria, used for generating a report.
+     * Retrieves the games with the given IDs together with their developers in a single query.
      *
-     * @param developerId   The ID of the developer (optional).
-     * @param yearReleased  The year of release (optional).
-     * @return A List of GameEntity objects matching the specified filters.
+     * @param ids The IDs of the games.
+     * @return The games found, in no particular order.
      */
-    @Query("""
-            SELECT g
-            FROM GameEntity g
-            WHERE (?1 IS NULL OR g.developer.id = ?1)
-            AND (?2 IS NULL OR g.yearReleased = ?2)
-            """)
-    List<GameEntity> findAllForReport(Long developerId, Integer yearReleased);
+    @EntityGraph(attributePaths = "developer")
+    List<GameEntity> findWithDeveloperByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,66 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GameInfoDTO;
+import dev.profitsoft.videogames.dto.game.GameReportRowDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment for filtering games.
+ * Queries contain a predicate only for the criteria that are set, so every combination of criteria
+ * gets its own SQL statement and execution plan that can use the matching index.
+ * Games are ordered by the sort of the request followed by the id in the same direction, or by id if unsorted.
+ * Every supported order is backed by an index ending with the id column, so pages are read in index order.
+ */
+public interface GameSearchRepository {
+
+    /**
+     * Retrieves a page of short game infos matching the filter.
+     * Only the id, title, year of release and genre columns are selected.
+     *
+     * @param filter    The filtering criteria.
+     * @param pageable  The pagination information for the result set.
+     * @return A Page of GameInfoDTO objects matching the filter.
+     */
+    Page<GameInfoDTO> findGamesWithFilters(GameFilter filter, Pageable pageable);
+
+    /**
+     * Retrieves a slice of short game infos matching the filter without counting all matches.
+     * One extra row is fetched to tell whether a next slice exists.
+     *
+     * @param filter    The filtering criteria.
+     * @param pageable  The pagination information for the result set.
+     * @return A Slice of GameInfoDTO objects matching the filter.
+     */
+    Slice<GameInfoDTO> findGameSliceWithFilters(GameFilter filter, Pageable pageable);
+
+    /**
+     * Retrieves short game infos matching the filter that come after the given game in the given order.
+     * Used for cursor pagination: the page starts right after the last game of the previous page,
+     * so no rows before it are scanned and no count is needed.
+     *
+     * @param filter     The filtering criteria.
+     * @param sort       The order of the games, by a single property or by id.
+     * @param afterValue The value of the sorted property of the last game of the previous page (ignored for id order).
+     * @param afterId    The ID of the last game of the previous page (optional, null for the first page).
+     * @param limit      The maximum number of games to return.
+     * @return A List of GameInfoDTO objects matching the filter.
+     */
+    List<GameInfoDTO> findGamesAfter(GameFilter filter, Sort sort, Comparable<?> afterValue, Long afterId, int limit);
+
+    /**
+     * Streams report rows matching the filter, used for generating a report.
+     * Only the title and genre columns are selected.
+     * Rows are fetched from a database cursor in batches, so the stream must be consumed inside a transaction
+     * and closed afterwards.
+     *
+     * @param filter The filtering criteria.
+     * @return A Stream of GameReportRowDTO objects matching the filter.
+     */
+    Stream<GameReportRowDTO> streamAllForReport(GameFilter filter);
+}
@@ -0,0 +1,184 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GameInfoDTO;
+import dev.profitsoft.videogames.dto.game.GameReportRowDTO;
+import dev.profitsoft.videogames.dto.game.GenreMatch;
+import dev.profitsoft.videogames.entity.GameEntity;
+import dev.profitsoft.videogames.entity.GenreEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link GameSearchRepository} based on the Criteria API.
+ */
+public class GameSearchRepositoryImpl implements GameSearchRepository {
+
+    /**
+     * The number of rows fetched per round trip when streaming a report.
+     */
+    private static final int REPORT_FETCH_SIZE = 1000;
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<GameInfoDTO> findGamesWithFilters(GameFilter filter, Pageable pageable) {
+        List<GameInfoDTO> games = findGameInfos(filter, pageable.getSort(), null,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(games, pageable, () -> countGames(filter));
+    }
+
+    @Override
+    public Slice<GameInfoDTO> findGameSliceWithFilters(GameFilter filter, Pageable pageable) {
+        List<GameInfoDTO> games = findGameInfos(filter, pageable.getSort(), null,
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = games.size() > pageable.getPageSize();
+        if (hasNext) {
+            games = games.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(games, pageable, hasNext);
+    }
+
+    @Override
+    public List<GameInfoDTO> findGamesAfter(GameFilter filter, Sort sort, Comparable<?> afterValue, Long afterId,
+                                            int limit) {
+        return findGameInfos(filter, sort, afterId == null ? null : new Keyset(afterValue, afterId), 0, limit);
+    }
+
+    @Override
+    public Stream<GameReportRowDTO> streamAllForReport(GameFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GameReportRowDTO> query = cb.createQuery(GameReportRowDTO.class);
+        Root<GameEntity> game = query.from(GameEntity.class);
+        query.select(cb.construct(GameReportRowDTO.class, game.get("title"), game.get("genre")))
+                .where(toPredicates(cb, query, game, filter));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, REPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private List<GameInfoDTO> findGameInfos(GameFilter filter, Sort sort, Keyset after, int offset, int limit) {
+        Sort order = withIdTieBreaker(sort);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GameInfoDTO> query = cb.createQuery(GameInfoDTO.class);
+        Root<GameEntity> game = query.from(GameEntity.class);
+        List<Predicate> predicates = new ArrayList<>(List.of(toPredicates(cb, query, game, filter)));
+        if (after != null) {
+            predicates.add(isAfter(cb, game, order.iterator().next(), after));
+        }
+        query.select(cb.construct(GameInfoDTO.class, game.get("id"), game.get("title"), game.get("yearReleased"),
+                        game.get("genre")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(order, game, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Appends the id in the direction of the last sorted property, so the order is total and matches
+     * the indexes ending with the id column. Unsorted lists are ordered by id.
+     */
+    private Sort withIdTieBreaker(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.by(ID);
+        }
+        if (sort.getOrderFor(ID) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second).orElseThrow().getDirection();
+        return sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Builds the keyset condition for the games after the given position, for lists sorted by a single property
+     * with the id as tie-breaker. The redundant bound on the sorted property lets the database start the index scan
+     * at the position instead of filtering the rows before it.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate isAfter(CriteriaBuilder cb, Root<GameEntity> game, Sort.Order order, Keyset after) {
+        Path<Long> id = game.get(ID);
+        Predicate afterId = order.isAscending() ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if (ID.equals(order.getProperty())) {
+            return afterId;
+        }
+        Path<Comparable> key = game.get(order.getProperty());
+        Comparable value = after.value();
+        if (order.isAscending()) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), afterId));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), afterId));
+    }
+
+    private long countGames(GameFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<GameEntity> game = query.from(GameEntity.class);
+        query.select(cb.count(game))
+                .where(toPredicates(cb, query, game, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Builds predicates for the criteria that are set. The developer is compared by the foreign key column,
+     * so no join with the developer table is needed. Genres are matched with EXISTS subqueries over game_genre,
+     * one per genre for ALL, so no rows are multiplied and each subquery can use the genre index.
+     */
+    private Predicate[] toPredicates(CriteriaBuilder cb, CommonAbstractCriteria query, Root<GameEntity> game,
+                                     GameFilter filter) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (filter.getDeveloperId() != null) {
+            predicates.add(cb.equal(game.get("developer").get("id"), filter.getDeveloperId()));
+        }
+        if (filter.getYearReleased() != null) {
+            predicates.add(cb.equal(game.get("yearReleased"), filter.getYearReleased()));
+        }
+        if (!filter.getGenres().isEmpty()) {
+            if (filter.getGenreMatch() == GenreMatch.ALL) {
+                filter.getGenres().forEach(genre -> predicates.add(hasAnyGenre(cb, query, game, List.of(genre))));
+            } else {
+                predicates.add(hasAnyGenre(cb, query, game, filter.getGenres()));
+            }
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private Predicate hasAnyGenre(CriteriaBuilder cb, CommonAbstractCriteria query, Root<GameEntity> game,
+                                  Collection<String> genres) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Join<GameEntity, GenreEntity> genre = subquery.correlate(game).join("genres");
+        subquery.select(cb.literal(1))
+                .where(genre.get("name").in(genres));
+        return cb.exists(subquery);
+    }
+
+    /**
+     * Position of the last game of the previous page: its value of the sorted property and its id.
+     */
+    private record Keyset(Comparable<?> value, long id) {
+    }
+}
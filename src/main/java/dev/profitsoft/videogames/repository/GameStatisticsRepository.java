@@ -0,0 +1,41 @@
+package dev.profitsoft.videogames.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository for cheap estimates of the number of games, taken from the PostgreSQL query planner.
+ * The planner works from table statistics kept by ANALYZE/autovacuum, so no rows are read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Estimates the number of games matching the filter.
+     *
+     * @param filter The filtering criteria.
+     * @return The number of rows the planner expects the filtered query to return.
+     */
+    public long estimateGamesWithFilters(GameFilter filter) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM game WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        GameFilterSql.appendConditions(sql, args, filter, "game");
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new DataRetrievalFailureException("Could not read query plan", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.dto.game.GameInfoDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository for searching games by title with the pg_trgm extension.
+ * A title matches when it starts with the query or contains a word similar to it
+ * (word_similarity above pg_trgm.word_similarity_threshold). Prefix matches come first, within each group matches
+ * are ranked by word similarity distance and ties are broken by id.
+ * Each group is read from the trigram GiST index on game.title in distance order and stops at the limit,
+ * only the two short lists are merged. A page after a cursor still walks the matches of the previous pages,
+ * its cost grows with its depth.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameTitleSearchRepository {
+
+    private static final String AFTER_PLACEHOLDER = "{after}";
+
+    private static final String PREFIX_MATCHES = """
+            (SELECT id, title, year_released, genre, TRUE AS prefix_match, title <->> :query AS distance
+            FROM game
+            WHERE title ILIKE :prefix {after}
+            ORDER BY title <->> :query, id
+            LIMIT :limit)
+            """;
+
+    private static final String WORD_MATCHES = """
+            (SELECT id, title, year_released, genre, FALSE AS prefix_match, title <->> :query AS distance
+            FROM game
+            WHERE :query <% title AND title NOT ILIKE :prefix {after}
+            ORDER BY title <->> :query, id
+            LIMIT :limit)
+            """;
+
+    private static final String AFTER = """
+            AND (title <->> :query > CAST(:afterDistance AS REAL)
+                OR (title <->> :query = CAST(:afterDistance AS REAL) AND id > :afterId))""";
+
+    private static final String ORDER = """
+            ORDER BY prefix_match DESC, distance, id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Searches games by title.
+     *
+     * @param query            The text to search for.
+     * @param afterPrefixMatch Whether the last game of the previous page was a prefix match
+     *                         (optional, null for the first page).
+     * @param afterDistance    The distance of the last game of the previous page, used when afterPrefixMatch is set.
+     * @param afterId          The ID of the last game of the previous page, used when afterPrefixMatch is set.
+     * @param limit            The maximum number of games to return.
+     * @return The matching games, best matches first.
+     */
+    public List<GameSearchHit> searchByTitle(String query, Boolean afterPrefixMatch, float afterDistance,
+                                             long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("prefix", escapeLike(query) + "%")
+                .addValue("limit", limit)
+                .addValue("afterDistance", afterDistance)
+                .addValue("afterId", afterId);
+        List<String> groups = new ArrayList<>();
+        if (afterPrefixMatch == null || afterPrefixMatch) {
+            groups.add(PREFIX_MATCHES.replace(AFTER_PLACEHOLDER, afterPrefixMatch == null ? "" : AFTER));
+        }
+        groups.add(WORD_MATCHES.replace(AFTER_PLACEHOLDER, Boolean.FALSE.equals(afterPrefixMatch) ? AFTER : ""));
+        String sql = "SELECT id, title, year_released, genre, prefix_match, distance FROM (\n" + String.join("UNION ALL\n", groups) + ") matches\n" + ORDER;
+        return jdbcTemplate.query(sql, params, (resultSet, rowNum) -> new GameSearchHit(
+                new GameInfoDTO(resultSet.getLong("id"), resultSet.getString("title"),
+                        resultSet.getObject("year_released", Integer.class), resultSet.getString("genre")),
+                resultSet.getBoolean("prefix_match"), resultSet.getFloat("distance")));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * A game matching a title search with its rank.
+     */
+    @Value
+    public static class GameSearchHit {
+
+        /**
+         * The matching game.
+         */
+        GameInfoDTO game;
+
+        /**
+         * Whether the title starts with the query, prefix matches rank before all other matches.
+         */
+        boolean prefixMatch;
+
+        /**
+         * The word similarity distance of the match, lower is better.
+         */
+        float distance;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.entity.GenreEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing CRUD operations on GenreEntity entities.
+ */
+@Repository
+public interface GenreRepository extends JpaRepository<GenreEntity, Long> {
+
+    /**
+     * Finds all genre entities whose name is in the given collection.
+     *
+     * @param names The names of the genres to search for.
+     * @return A List of GenreEntity objects with matching names.
+     */
+    List<GenreEntity> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Adds a genre unless a genre with the same name exists, concurrent inserts of the same name do not fail.
+     *
+     * @param name The name of the genre.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO genre (name) VALUES (?1) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(String name);
+}
@@ -0,0 +1,41 @@
+package dev.profitsoft.videogames.repository;
+
+import dev.profitsoft.videogames.entity.UploadJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for managing CRUD operations on UploadJobEntity entities.
+ */
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJobEntity, String> {
+
+    /**
+     * Writes the progress of a job that has not finished yet, a finished job is left unchanged.
+     *
+     * @param id        The ID of the job.
+     * @param success   The number of games saved so far.
+     * @param fail      The number of games rejected so far.
+     * @param updatedAt The current time.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadJobEntity job SET job.success = ?2, job.fail = ?3, job.updatedAt = ?4 "
+            + "WHERE job.id = ?1 AND job.finishedAt IS NULL")
+    void updateProgress(String id, int success, int fail, Instant updatedAt);
+
+    /**
+     * Deletes the jobs that finished before the given time.
+     *
+     * @param finishedBefore The time before which finished jobs are deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadJobEntity job WHERE job.finishedAt < ?1")
+    void deleteFinishedBefore(Instant finishedBefore);
+}
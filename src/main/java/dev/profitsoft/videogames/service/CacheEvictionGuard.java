@@ -0,0 +1,61 @@
+package dev.profitsoft.videogames.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps values loaded outside a cache from outliving an eviction that ran while they were read.
+ * Loads remember the eviction count when they start; values are put into the cache and taken out again
+ * if an eviction ran since. An eviction that starts after the put finds the values in the cache,
+ * one that started before is detected.
+ *
+ * @param <K> The type of the cache keys.
+ * @param <V> The type of the cached values.
+ */
+final class CacheEvictionGuard<K, V> {
+
+    private final Cache<K, V> cache;
+
+    /**
+     * Incremented before every eviction, so loads can tell whether an eviction ran while they read.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    CacheEvictionGuard(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Marks the start of a load.
+     *
+     * @return The eviction count to pass to {@link #putLoaded}.
+     */
+    long startLoad() {
+        return evictions.get();
+    }
+
+    /**
+     * Puts loaded values into the cache, unless an eviction ran since the load started.
+     *
+     * @param loaded    The loaded values by key.
+     * @param loadStart The eviction count returned by {@link #startLoad()} before the values were read.
+     */
+    void putLoaded(Map<? extends K, ? extends V> loaded, long loadStart) {
+        cache.putAll(loaded);
+        if (evictions.get() != loadStart) {
+            cache.invalidateAll(loaded.keySet());
+        }
+    }
+
+    /**
+     * Runs an eviction, counting it first so loads running concurrently do not cache what they read.
+     *
+     * @param eviction Removes entries from the cache.
+     */
+    void evict(Runnable eviction) {
+        evictions.incrementAndGet();
+        eviction.run();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.event.CacheInvalidationMessage;
+import dev.profitsoft.videogames.event.CacheInvalidationMessage.EntityType;
+import dev.profitsoft.videogames.event.DeveloperChangedEvent;
+import dev.profitsoft.videogames.event.GamePartition;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Service class for keeping the caches of all nodes consistent.
+ * Committed writes of games and developers are broadcast through a fanout exchange, every node receives them
+ * on its own anonymous queue and evicts the written entities, and the game lists that may contain them,
+ * from its local caches. Written games are also re-read into the local {@link GameCatalogIndex}.
+ * The sending node has evicted them already and ignores its own messages.
+ * If the broker is unavailable, other nodes serve stale entries until they expire,
+ * and stale catalog rows until their next reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationService {
+
+    private final GameCache gameCache;
+    private final GameListCache gameListCache;
+    private final GameCatalogIndex gameCatalogIndex;
+    private final DeveloperService developerService;
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${rabbit.cacheInvalidationExchangeName}")
+    private String exchangeName;
+
+    /**
+     * Broadcasts the written games after the writing transaction commits.
+     *
+     * @param event The changed games.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesChanged(GamesChangedEvent event) {
+        if (event.isReloadRequired()) {
+            send(EntityType.GAME, null, null);
+            return;
+        }
+        List<Long> ids = new ArrayList<>(event.getDeletedIds());
+        event.getSaved().forEach(game -> ids.add(game.getId()));
+        if (!ids.isEmpty()) {
+            List<GamePartition> partitions = Stream.concat(event.getSaved().stream(), event.getPrevious().stream())
+                    .map(GamePartition::of)
+                    .distinct()
+                    .toList();
+            send(EntityType.GAME, ids, partitions);
+        }
+    }
+
+    /**
+     * Broadcasts the written developer after the write commits.
+     *
+     * @param event The changed developer.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        send(EntityType.DEVELOPER, List.of(event.getDeveloperId()), null);
+    }
+
+    /**
+     * Evicts the entities written by another node from the local caches and refreshes them in the catalog index.
+     *
+     * @param message The written entities.
+     */
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onCacheInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        if (message.getType() == EntityType.DEVELOPER) {
+            message.getIds().forEach(id -> {
+                developerService.evictCachedDeveloper(id);
+                gameCache.evictGamesOfDeveloper(id);
+            });
+        } else if (message.getIds() == null) {
+            gameCache.evictAll();
+            gameListCache.evictAll();
+            gameCatalogIndex.refreshAll();
+        } else {
+            gameCache.evict(message.getIds());
+            gameListCache.evict(message.getPartitions());
+            gameCatalogIndex.refresh(message.getIds());
+        }
+    }
+
+    private void send(EntityType type, List<Long> ids, List<GamePartition> partitions) {
+        try {
+            rabbitTemplate.convertAndSend(exchangeName, "",
+                    new CacheInvalidationMessage(type, ids, partitions, nodeId));
+        } catch (AmqpException e) {
+            log.warn("Could not broadcast cache invalidation of {} {}", type, ids, e);
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package dev.profitsoft.videogames.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import dev.profitsoft.videogames.dto.developer.DeveloperDTO;
 import dev.profitsoft.videogames.entity.DeveloperEntity;
+import dev.profitsoft.videogames.event.DeveloperChangedEvent;
 import dev.profitsoft.videogames.exception.exceptions.DeveloperNotFoundException;
 import dev.profitsoft.videogames.exception.exceptions.UniqueValueViolationException;
 import dev.profitsoft.videogames.mapper.DeveloperMapper;
 import dev.profitsoft.videogames.repository.DeveloperRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing developer-related operations.
+ * Lookups by name are served from a bounded in-process cache, names that were not found are cached too,
+ * for a shorter time. Writes evict the affected names after they are committed.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,7 +41,34 @@ public class DeveloperService {
 
     private final DeveloperRepository developerRepository;
     private final DeveloperMapper developerMapper;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Value("${developer.cache.maximumSize}")
+    private long cacheMaximumSize;
+
+    @Value("${developer.cache.ttl}")
+    private Duration cacheTtl;
+
+    @Value("${developer.cache.negativeTtl}")
+    private Duration cacheNegativeTtl;
+
+    /**
+     * Developers by name, empty for names that were not found.
+     */
+    private Cache<String, Optional<DeveloperEntity>> developersByName;
+    private CacheEvictionGuard<String, Optional<DeveloperEntity>> evictionGuard;
+
+    @PostConstruct
+    void createCache() {
+        developersByName = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new LookupExpiry())
+                .recordStats()
+                .build();
+        evictionGuard = new CacheEvictionGuard<>(developersByName);
+        CaffeineCacheMetrics.monitor(meterRegistry, developersByName, "developers");
+    }
 
     /**
      * Retrieves a list of all developers as DeveloperDTOs.
@@ -47,6 +94,8 @@ public class DeveloperService {
         } catch (DataIntegrityViolationException e) {
             throw new UniqueValueViolationException("Developer with name %s already exists".formatted(name));
         }
+        evictionGuard.evict(() -> developersByName.invalidate(name));
+        eventPublisher.publishEvent(new DeveloperChangedEvent(entity.getId()));
         return developerMapper.toDeveloperDTO(entity);
     }
 
@@ -60,6 +109,7 @@ public class DeveloperService {
      */
     public void updateDeveloperById(Long id, DeveloperDTO developerDTO) {
         DeveloperEntity entity = getDeveloperByIdOrThrow(id);
+        String oldName = entity.getName();
         updateValues(developerDTO, entity);
         String name = entity.getName();
         try {
@@ -67,6 +117,8 @@ public class DeveloperService {
         } catch (DataIntegrityViolationException e) {
             throw new UniqueValueViolationException("Developer with name %s already exists".formatted(name));
         }
+        evictionGuard.evict(() -> developersByName.invalidateAll(List.of(oldName, name)));
+        eventPublisher.publishEvent(new DeveloperChangedEvent(id));
     }
 
     /**
@@ -76,22 +128,74 @@ public class DeveloperService {
      * @throws DeveloperNotFoundException If no developer with the given ID is found
      */
     public void deleteDeveloperById(Long id) {
-        if (!developerRepository.existsById(id)) {
-            throw new DeveloperNotFoundException("Developer with id %d not found".formatted(id));
-        }
-        developerRepository.deleteById(id);
+        DeveloperEntity entity = developerRepository.findById(id).orElseThrow(
+                () -> new DeveloperNotFoundException("Developer with id %d not found".formatted(id)));
+        developerRepository.delete(entity);
+        evictionGuard.evict(() -> developersByName.invalidate(entity.getName()));
+        eventPublisher.publishEvent(new DeveloperChangedEvent(id));
     }
 
     /**
-     * Finds a DeveloperEntity by name.
+     * Finds a DeveloperEntity by name, from the cache if possible.
+     * The returned entity is detached and shared, it must only be used as a reference.
      *
      * @param name The name of the developer to find
      * @return The DeveloperEntity with the given name
      * @throws DeveloperNotFoundException If no developer with the given name is found
      */
     public DeveloperEntity findDeveloperByNameOrThrow(String name) {
-        return developerRepository.findByName(name)
-                .orElseThrow(() -> new DeveloperNotFoundException("Developer with name %s not found".formatted(name)));
+        Optional<DeveloperEntity> developer = name == null ? Optional.empty()
+                : developersByName.get(name, developerRepository::findByName);
+        return developer.orElseThrow(
+                () -> new DeveloperNotFoundException("Developer with name %s not found".formatted(name)));
+    }
+
+    /**
+     * Finds DeveloperEntities by a collection of names, names missing from the cache are loaded with a single query.
+     * Names loaded while an eviction ran are not cached, as they may have been read before the write committed.
+     * The returned entities are detached and shared, they must only be used as references.
+     *
+     * @param names The names of the developers to find
+     * @return A map of developer name to DeveloperEntity; names that were not found are absent
+     */
+    public Map<String, DeveloperEntity> findDevelopersByNames(Collection<String> names) {
+        Set<String> nonNullNames = names.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Optional<DeveloperEntity>> lookups = new HashMap<>(developersByName.getAllPresent(nonNullNames));
+        Set<String> missingNames = new HashSet<>(nonNullNames);
+        missingNames.removeAll(lookups.keySet());
+        if (!missingNames.isEmpty()) {
+            long loadStart = evictionGuard.startLoad();
+            Map<String, Optional<DeveloperEntity>> loaded = loadDevelopersByNames(missingNames);
+            evictionGuard.putLoaded(loaded, loadStart);
+            lookups.putAll(loaded);
+        }
+        Map<String, DeveloperEntity> developers = new HashMap<>();
+        lookups.forEach((name, developer) -> developer.ifPresent(entity -> developers.put(name, entity)));
+        return developers;
+    }
+
+    /**
+     * Evicts a developer written by another node from the cache, together with all cached names that were not found,
+     * as the developer may have been added under one of them.
+     *
+     * @param id The ID of the developer.
+     */
+    public void evictCachedDeveloper(Long id) {
+        evictionGuard.evict(() -> developersByName.asMap().values()
+                .removeIf(developer -> developer.map(entity -> id.equals(entity.getId())).orElse(true)));
+    }
+
+    /**
+     * Loads the developers with the given names, names that were not found are mapped to empty.
+     */
+    private Map<String, Optional<DeveloperEntity>> loadDevelopersByNames(Set<String> names) {
+        Map<String, Optional<DeveloperEntity>> developers = new HashMap<>();
+        names.forEach(name -> developers.put(name, Optional.empty()));
+        developerRepository.findAllByNameIn(List.copyOf(names))
+                .forEach(developer -> developers.put(developer.getName(), Optional.of(developer)));
+        return developers;
     }
 
     private void updateValues(DeveloperDTO dto, DeveloperEntity entity) {
@@ -105,4 +209,28 @@ public class DeveloperService {
         return developerRepository.findById(id).orElseThrow(
                 () -> new DeveloperNotFoundException("Developer with id %s not found".formatted(id)));
     }
+
+    /**
+     * Keeps found developers for {@code developer.cache.ttl} and names that were not found
+     * for {@code developer.cache.negativeTtl}, counted from the lookup.
+     */
+    private class LookupExpiry implements Expiry<String, Optional<DeveloperEntity>> {
+
+        @Override
+        public long expireAfterCreate(String name, Optional<DeveloperEntity> developer, long currentTime) {
+            return (developer.isPresent() ? cacheTtl : cacheNegativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String name, Optional<DeveloperEntity> developer, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(name, developer, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String name, Optional<DeveloperEntity> developer, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package dev.profitsoft.videogames.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.profitsoft.videogames.dto.game.GameDTO;
+import dev.profitsoft.videogames.event.DeveloperChangedEvent;
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of games by ID, bounded by {@code game.cache.maximumSize} and {@code game.cache.ttl}.
+ * Entries are evicted after the transactions writing games or their developers commit.
+ * Games loaded while an eviction ran are not kept, as they may have been read before the write committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${game.cache.maximumSize}")
+    private long maximumSize;
+
+    @Value("${game.cache.ttl}")
+    private Duration ttl;
+
+    private Cache<Long, GameDTO> gamesById;
+    private CacheEvictionGuard<Long, GameDTO> evictionGuard;
+
+    @PostConstruct
+    void createCache() {
+        gamesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        evictionGuard = new CacheEvictionGuard<>(gamesById);
+        CaffeineCacheMetrics.monitor(meterRegistry, gamesById, "games");
+        Gauge.builder("game.cache.hit.ratio", this, cache -> cache.gamesById.stats().hitRate())
+                .description("Share of game lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets a game from the cache or loads and caches it.
+     *
+     * @param id     The ID of the game.
+     * @param loader Loads the game when it is not cached, returns empty if the game does not exist.
+     * @return The game, or empty if it does not exist. Missing games are not cached.
+     */
+    public Optional<GameDTO> get(Long id, Function<Long, Optional<GameDTO>> loader) {
+        GameDTO cached = gamesById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadStart = evictionGuard.startLoad();
+        Optional<GameDTO> loaded = loader.apply(id);
+        loaded.ifPresent(game -> evictionGuard.putLoaded(Map.of(id, game), loadStart));
+        return loaded;
+    }
+
+    /**
+     * Gets several games from the cache and loads the missing ones together.
+     *
+     * @param ids    The IDs of the games.
+     * @param loader Loads the games that are not cached, games that do not exist are absent from its result.
+     * @return The games by ID, games that do not exist are absent.
+     */
+    public Map<Long, GameDTO> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, GameDTO>> loader) {
+        Map<Long, GameDTO> games = new HashMap<>(gamesById.getAllPresent(ids));
+        Set<Long> missingIds = new HashSet<>(ids);
+        missingIds.removeAll(games.keySet());
+        if (missingIds.isEmpty()) {
+            return games;
+        }
+        long loadStart = evictionGuard.startLoad();
+        Map<Long, GameDTO> loaded = loader.apply(missingIds);
+        evictionGuard.putLoaded(loaded, loadStart);
+        games.putAll(loaded);
+        return games;
+    }
+
+    /**
+     * Evicts the written games after the writing transaction commits.
+     *
+     * @param event The changed games.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesChanged(GamesChangedEvent event) {
+        if (event.isReloadRequired()) {
+            evictAll();
+            return;
+        }
+        evict(event.getDeletedIds());
+        evict(event.getSaved().stream()
+                .map(GameSnapshot::getId)
+                .toList());
+    }
+
+    /**
+     * Evicts the games of a developer that was changed, as cached games contain the developer.
+     *
+     * @param event The changed developer.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        evictGamesOfDeveloper(event.getDeveloperId());
+    }
+
+    /**
+     * Evicts games by ID.
+     *
+     * @param ids The IDs of the games.
+     */
+    public void evict(Collection<Long> ids) {
+        evictionGuard.evict(() -> gamesById.invalidateAll(ids));
+    }
+
+    /**
+     * Evicts all games.
+     */
+    public void evictAll() {
+        evictionGuard.evict(gamesById::invalidateAll);
+    }
+
+    /**
+     * Evicts the games of a developer.
+     * Developer writes are rare, so the cache is scanned instead of keeping an index by developer.
+     *
+     * @param developerId The ID of the developer.
+     */
+    public void evictGamesOfDeveloper(Long developerId) {
+        evictionGuard.evict(() -> gamesById.asMap().values()
+                .removeIf(game -> developerId.equals(game.getDeveloper().getId())));
+    }
+}
@@ -0,0 +1,328 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.dto.game.GameInfoDTO;
+import dev.profitsoft.videogames.dto.game.GenreMatch;
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.repository.GameFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar copy of the game table.
+ * Every game is a row in column arrays, the genre is stored as a code of a dictionary since few distinct genres exist.
+ * An update rewrites the row of the game in place, the rows of removed games are reused by the next added games.
+ * Live rows are linked into posting lists ordered by game id: one for all games, one per developer and one per year.
+ * A query walks the shortest posting list that applies to the filter and checks the other criteria on the columns,
+ * so results come out in id order without sorting.
+ * Not thread-safe, {@link GameCatalogIndex} guards it with a lock.
+ */
+final class GameCatalog {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Rough JVM sizes used by {@link #estimateBytes()}: a hash map entry with boxed key, a posting list object,
+     * a string with its byte array, and a list of genre names per dictionary entry.
+     */
+    private static final int MAP_ENTRY_BYTES = 64;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int ROW_LIST_BYTES = 32;
+    private static final int STRING_BYTES = 56;
+    private static final int GENRE_NAMES_BYTES = 96;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] developerIds = new long[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] genreCodes = new int[INITIAL_CAPACITY];
+    private int rowCount;
+    private int[] freeRows = new int[0];
+    private int freeRowCount;
+
+    private final Dictionary genres = new Dictionary();
+    private final List<Set<String>> genreNames = new ArrayList<>();
+
+    private final RowList allRows = new RowList();
+    private final Map<Long, RowList> rowsByDeveloper = new HashMap<>();
+    private final Map<Integer, RowList> rowsByYear = new HashMap<>();
+
+    /**
+     * Adds a game or replaces the game with the same id.
+     *
+     * @param game The values of the game.
+     */
+    void put(GameSnapshot game) {
+        int position = allRows.positionOf(game.getId());
+        if (position < 0) {
+            int row = allocateRow();
+            ids[row] = game.getId();
+            developerIds[row] = game.getDeveloperId();
+            years[row] = game.getYearReleased();
+            allRows.insert(row);
+            link(row);
+            setValues(row, game);
+            return;
+        }
+        int row = allRows.get(position);
+        if (developerIds[row] != game.getDeveloperId() || years[row] != game.getYearReleased()) {
+            unlink(row);
+            developerIds[row] = game.getDeveloperId();
+            years[row] = game.getYearReleased();
+            link(row);
+        }
+        setValues(row, game);
+    }
+
+    /**
+     * Removes a game if it is present.
+     *
+     * @param id The ID of the game.
+     */
+    void remove(long id) {
+        int position = allRows.positionOf(id);
+        if (position < 0) {
+            return;
+        }
+        int row = allRows.get(position);
+        allRows.removeAt(position);
+        unlink(row);
+        titles[row] = null;
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, Math.max(INITIAL_CAPACITY, freeRowCount * 2));
+        }
+        freeRows[freeRowCount++] = row;
+    }
+
+    /**
+     * Finds the games matching the filter in id order.
+     *
+     * @param filter     The filtering criteria.
+     * @param afterId    Only games with a greater id are returned (optional).
+     * @param offset     The number of matching games to skip.
+     * @param limit      The maximum number of games to return.
+     * @param countTotal Whether to count all matching games, otherwise the walk stops when the page is full.
+     * @return The page of games and, when counted, the number of matching games.
+     */
+    GameCatalogPage find(GameFilter filter, Long afterId, int offset, int limit, boolean countTotal) {
+        RowList candidates = candidates(filter);
+        boolean[] genreMatches = genreMatches(filter);
+        int start = afterId == null ? 0 : candidates.firstPositionAfter(afterId);
+        List<GameInfoDTO> games = new ArrayList<>(Math.min(limit, candidates.size));
+        long matched = 0;
+        for (int position = start; position < candidates.size; position++) {
+            int row = candidates.rows[position];
+            if (!matches(row, filter, genreMatches)) {
+                continue;
+            }
+            if (matched >= offset && games.size() < limit) {
+                games.add(new GameInfoDTO(ids[row], titles[row], years[row],
+                        genres.value(genreCodes[row])));
+            }
+            matched++;
+            if (!countTotal && games.size() == limit) {
+                break;
+            }
+        }
+        return new GameCatalogPage(games, countTotal ? matched : -1);
+    }
+
+    /**
+     * @return The number of games.
+     */
+    int size() {
+        return allRows.size;
+    }
+
+    /**
+     * Estimates the heap used by the catalog: column arrays, posting lists, maps and dictionaries.
+     *
+     * @return The estimated size in bytes.
+     */
+    long estimateBytes() {
+        long bytes = (long) ids.length * (Long.BYTES * 2 + Integer.BYTES * 2 + REFERENCE_BYTES);
+        bytes += (long) freeRows.length * Integer.BYTES;
+        for (int row = 0; row < rowCount; row++) {
+            bytes += titles[row] == null ? 0 : STRING_BYTES + titles[row].length();
+        }
+        bytes += ROW_LIST_BYTES + (long) allRows.rows.length * Integer.BYTES;
+        for (RowList rows : rowsByDeveloper.values()) {
+            bytes += MAP_ENTRY_BYTES + ROW_LIST_BYTES + (long) rows.rows.length * Integer.BYTES;
+        }
+        for (RowList rows : rowsByYear.values()) {
+            bytes += MAP_ENTRY_BYTES + ROW_LIST_BYTES + (long) rows.rows.length * Integer.BYTES;
+        }
+        bytes += genres.estimateBytes() + (long) genreNames.size() * GENRE_NAMES_BYTES;
+        return bytes;
+    }
+
+    /**
+     * @return A row of a removed game, or a new row at the end of the columns.
+     */
+    private int allocateRow() {
+        if (freeRowCount > 0) {
+            return freeRows[--freeRowCount];
+        }
+        if (rowCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            developerIds = Arrays.copyOf(developerIds, capacity);
+            years = Arrays.copyOf(years, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            genreCodes = Arrays.copyOf(genreCodes, capacity);
+        }
+        return rowCount++;
+    }
+
+    private void setValues(int row, GameSnapshot game) {
+        titles[row] = game.getTitle();
+        genreCodes[row] = genres.encode(game.getGenre());
+        if (genreCodes[row] == genreNames.size()) {
+            genreNames.add(GenreService.splitGenreNames(game.getGenre()));
+        }
+    }
+
+    private void link(int row) {
+        rowsByDeveloper.computeIfAbsent(developerIds[row], developerId -> new RowList()).insert(row);
+        rowsByYear.computeIfAbsent(years[row], year -> new RowList()).insert(row);
+    }
+
+    private void unlink(int row) {
+        removeFrom(rowsByDeveloper, developerIds[row], row);
+        removeFrom(rowsByYear, years[row], row);
+    }
+
+    private <K> void removeFrom(Map<K, RowList> postingLists, K key, int row) {
+        RowList rows = postingLists.get(key);
+        rows.removeAt(rows.positionOf(ids[row]));
+        if (rows.size == 0) {
+            postingLists.remove(key);
+        }
+    }
+
+    private RowList candidates(GameFilter filter) {
+        RowList candidates = allRows;
+        if (filter.getDeveloperId() != null) {
+            candidates = shorter(candidates, rowsByDeveloper.get(filter.getDeveloperId()));
+        }
+        if (filter.getYearReleased() != null) {
+            candidates = shorter(candidates, rowsByYear.get(filter.getYearReleased()));
+        }
+        return candidates;
+    }
+
+    private RowList shorter(RowList current, RowList other) {
+        if (other == null) {
+            return new RowList();
+        }
+        return other.size < current.size ? other : current;
+    }
+
+    /**
+     * Evaluates the genre criteria once per genre dictionary entry instead of once per row.
+     */
+    private boolean[] genreMatches(GameFilter filter) {
+        if (filter.getGenres().isEmpty()) {
+            return null;
+        }
+        boolean[] matches = new boolean[genreNames.size()];
+        for (int code = 0; code < matches.length; code++) {
+            Set<String> names = genreNames.get(code);
+            matches[code] = filter.getGenreMatch() == GenreMatch.ALL
+                    ? names.containsAll(filter.getGenres())
+                    : filter.getGenres().stream().anyMatch(names::contains);
+        }
+        return matches;
+    }
+
+    private boolean matches(int row, GameFilter filter, boolean[] genreMatches) {
+        return (filter.getDeveloperId() == null || developerIds[row] == filter.getDeveloperId())
+                && (filter.getYearReleased() == null || years[row] == filter.getYearReleased())
+                && (genreMatches == null || genreMatches[genreCodes[row]]);
+    }
+
+    /**
+     * Growable list of rows ordered by the id of their game.
+     */
+    private final class RowList {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        int get(int position) {
+            return rows[position];
+        }
+
+        void insert(int row) {
+            int position = firstPositionAfter(ids[row]);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, position, rows, position + 1, size - position);
+            rows[position] = row;
+            size++;
+        }
+
+        void removeAt(int position) {
+            System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * @return The position of the row of the game, or a negative number if it is absent.
+         */
+        int positionOf(long id) {
+            int position = firstPositionAfter(id - 1);
+            return position < size && ids[rows[position]] == id ? position : -1;
+        }
+
+        /**
+         * @return The position of the first row whose game id is greater than the given id.
+         */
+        int firstPositionAfter(long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ids[rows[middle]] <= id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Maps string values to dense int codes, null is a value too.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        long estimateBytes() {
+            long bytes = (long) codes.size() * (MAP_ENTRY_BYTES + Integer.BYTES);
+            for (String value : values) {
+                bytes += value == null ? 0 : STRING_BYTES + value.length();
+            }
+            return bytes;
+        }
+    }
+}
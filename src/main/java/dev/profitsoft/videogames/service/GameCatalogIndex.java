@@ -0,0 +1,386 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
+import dev.profitsoft.videogames.repository.GameFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Optional in-memory read model of the game table, enabled with {@code catalog.index.enabled}.
+ * The catalog is loaded in the background at startup and kept up to date from {@link GamesChangedEvent}s
+ * after the writing transaction commits, and from the writes of other nodes through {@link #refresh}.
+ * Until the first load completes, and when the index is disabled,
+ * {@link #findGames} returns nothing and callers query the database instead.
+ * Changed games are re-read from the database rather than taken from the event, outside the lock.
+ * Every read takes a ticket before it starts, and a game is only replaced by a read with a later ticket
+ * than the one it was last read with, so reads applied out of order still leave the latest committed state:
+ * a read that started after a commit sees it.
+ * Games changed while a load is running are re-read again for the new catalog,
+ * so no change is lost whichever snapshot the load read.
+ * Loads run one at a time on a single background thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameCatalogIndex {
+
+    private static final String GAME_COLUMNS = "SELECT id, developer_id, year_released, title, genre FROM game";
+    private static final String LOAD_GAMES = GAME_COLUMNS + " ORDER BY id";
+    private static final String LOAD_GAMES_BY_IDS = GAME_COLUMNS + " WHERE id = ANY(?)";
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "catalog-index-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The current catalog, null until the first load completes. Guarded by {@link #lock}.
+     */
+    private GameCatalog catalog;
+
+    /**
+     * IDs of the games changed while a load is running, null otherwise. Guarded by {@link #lock}.
+     */
+    private Set<Long> pendingIds;
+
+    /**
+     * The last ticket taken by a read. Guarded by {@link #lock}.
+     */
+    private long lastTicket;
+
+    /**
+     * The ticket of the load the current catalog was built from, older reads are not applied to it.
+     * Guarded by {@link #lock}.
+     */
+    private long catalogTicket;
+
+    /**
+     * Tickets of the reads applied to the current catalog by game ID,
+     * kept while an older refresh is still reading. Guarded by {@link #lock}.
+     */
+    private final Map<Long, Long> gameTickets = new HashMap<>();
+
+    /**
+     * Tickets of the refreshes still reading. Guarded by {@link #lock}.
+     */
+    private final SortedSet<Long> readingTickets = new TreeSet<>();
+
+    @Value("${catalog.index.enabled}")
+    private boolean enabled;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("catalog.index.games", this, index -> index.read(GameCatalog::size, 0))
+                .description("Number of games in the in-memory catalog")
+                .register(meterRegistry);
+        Gauge.builder("catalog.index.bytes", this, index -> index.read(GameCatalog::estimateBytes, 0L))
+                .description("Estimated heap used by the in-memory catalog")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.index.bytes.per.game", this, GameCatalogIndex::bytesPerGame)
+                .description("Estimated heap used by the in-memory catalog per game")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stopLoader() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Starts loading the catalog in the background when the index is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            reloadInBackground();
+        }
+    }
+
+    /**
+     * Finds the games matching the filter in id order.
+     *
+     * @param filter     The filtering criteria.
+     * @param afterId    Only games with a greater id are returned (optional).
+     * @param offset     The number of matching games to skip.
+     * @param limit      The maximum number of games to return.
+     * @param countTotal Whether to count all matching games.
+     * @return The page of games, or empty when the index is disabled or not loaded yet.
+     */
+    public Optional<GameCatalogPage> findGames(GameFilter filter, Long afterId, int offset, int limit,
+                                               boolean countTotal) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(read(catalog -> catalog.find(filter, afterId, offset, limit, countTotal), null));
+    }
+
+    /**
+     * Loads the whole game table into a new catalog and replaces the current one.
+     * If a load is already running, it is repeated once it completes, as it may have missed the latest changes.
+     */
+    public void reload() {
+        reloadRequested.set(true);
+        while (reloadRequested.get() && loading.compareAndSet(false, true)) {
+            try {
+                reloadRequested.set(false);
+                loadAndReplace();
+            } finally {
+                loading.set(false);
+            }
+        }
+    }
+
+    private void loadAndReplace() {
+        try {
+            long loadTicket = writeAndGet(() -> {
+                pendingIds = new HashSet<>();
+                return ++lastTicket;
+            });
+            long start = System.nanoTime();
+            GameCatalog loaded = load();
+            Map<Long, Long> rereadTickets = new HashMap<>();
+            PendingReread pending;
+            while ((pending = writeAndGet(() -> replaceOrTakePending(loaded, loadTicket, rereadTickets))) != null) {
+                apply(loaded, pending.ids(), readGames(pending.ids()));
+                for (Long id : pending.ids()) {
+                    rereadTickets.put(id, pending.ticket());
+                }
+            }
+            log.info("Loaded {} games into the catalog index in {} ms, about {} bytes per game",
+                    loaded.size(), (System.nanoTime() - start) / 1_000_000, Math.round(bytesPerGame()));
+        } catch (RuntimeException e) {
+            write(() -> pendingIds = null);
+            log.error("Could not load the catalog index", e);
+        }
+    }
+
+    /**
+     * Installs the loaded catalog if no game changed since the last read, otherwise takes the changed IDs
+     * to be re-read outside the lock. Called under the write lock.
+     */
+    private PendingReread replaceOrTakePending(GameCatalog loaded, long loadTicket, Map<Long, Long> rereadTickets) {
+        if (pendingIds.isEmpty()) {
+            pendingIds = null;
+            catalog = loaded;
+            catalogTicket = loadTicket;
+            gameTickets.clear();
+            gameTickets.putAll(rereadTickets);
+            forgetFinishedReads();
+            return null;
+        }
+        PendingReread pending = new PendingReread(pendingIds, ++lastTicket);
+        pendingIds = new HashSet<>();
+        return pending;
+    }
+
+    /**
+     * Applies committed game changes to the catalog.
+     *
+     * @param event The changed games.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesChanged(GamesChangedEvent event) {
+        if (event.isReloadRequired()) {
+            refreshAll();
+            return;
+        }
+        List<Long> ids = new ArrayList<>(event.getDeletedIds());
+        event.getSaved().forEach(game -> ids.add(game.getId()));
+        refresh(ids);
+    }
+
+    /**
+     * Re-reads games from the database into the catalog, removing the ones that no longer exist.
+     * If the database cannot be read, the catalog is reloaded in the background.
+     *
+     * @param ids The IDs of the changed games.
+     */
+    public void refresh(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        Long ticket = writeAndGet(() -> {
+            if (catalog == null && pendingIds == null) {
+                return null;
+            }
+            if (pendingIds != null) {
+                pendingIds.addAll(ids);
+            }
+            readingTickets.add(++lastTicket);
+            return lastTicket;
+        });
+        if (ticket == null) {
+            return;
+        }
+        try {
+            Map<Long, GameSnapshot> games = readGames(ids);
+            write(() -> {
+                if (catalog != null && ticket > catalogTicket) {
+                    List<Long> newerIds = ids.stream()
+                            .filter(id -> gameTickets.getOrDefault(id, 0L) < ticket)
+                            .toList();
+                    apply(catalog, newerIds, games);
+                    newerIds.forEach(id -> gameTickets.put(id, ticket));
+                }
+                readingTickets.remove(ticket);
+                forgetFinishedReads();
+            });
+        } catch (DataAccessException e) {
+            write(() -> {
+                readingTickets.remove(ticket);
+                forgetFinishedReads();
+            });
+            log.warn("Could not refresh games {} in the catalog index, reloading it", ids, e);
+            reloadInBackground();
+        }
+    }
+
+    /**
+     * Reloads the whole catalog in the background, used when an unknown set of games changed.
+     */
+    public void refreshAll() {
+        if (enabled) {
+            reloadInBackground();
+        }
+    }
+
+    private void reloadInBackground() {
+        loader.execute(this::reload);
+    }
+
+    private GameCatalog load() {
+        GameCatalog loaded = new GameCatalog();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOAD_GAMES);
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            loaded.put(toSnapshot(resultSet));
+        }));
+        return loaded;
+    }
+
+    private Map<Long, GameSnapshot> readGames(Collection<Long> ids) {
+        Map<Long, GameSnapshot> games = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOAD_GAMES_BY_IDS);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, resultSet -> {
+            GameSnapshot game = toSnapshot(resultSet);
+            games.put(game.getId(), game);
+        });
+        return games;
+    }
+
+    /**
+     * Puts the read games into the catalog and removes the ones that no longer exist.
+     */
+    private void apply(GameCatalog target, Collection<Long> ids, Map<Long, GameSnapshot> games) {
+        for (Long id : ids) {
+            GameSnapshot game = games.get(id);
+            if (game != null) {
+                target.put(game);
+            } else {
+                target.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Drops the game tickets no refresh still reading is older than. Called under the write lock.
+     */
+    private void forgetFinishedReads() {
+        if (readingTickets.isEmpty()) {
+            gameTickets.clear();
+        } else {
+            long oldestReading = readingTickets.first();
+            gameTickets.values().removeIf(ticket -> ticket <= oldestReading);
+        }
+    }
+
+    private GameSnapshot toSnapshot(ResultSet resultSet) throws SQLException {
+        return new GameSnapshot(resultSet.getLong("id"), resultSet.getLong("developer_id"),
+                resultSet.getInt("year_released"), resultSet.getString("title"), resultSet.getString("genre"));
+    }
+
+    private double bytesPerGame() {
+        return read(catalog -> catalog.size() == 0 ? 0.0 : (double) catalog.estimateBytes() / catalog.size(), 0.0);
+    }
+
+    private <T> T read(Function<GameCatalog, T> reader, T absent) {
+        lock.readLock().lock();
+        try {
+            return catalog == null ? absent : reader.apply(catalog);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable writer) {
+        writeAndGet(() -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    private <T> T writeAndGet(Supplier<T> writer) {
+        lock.writeLock().lock();
+        try {
+            return writer.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Games changed while a load was running, to be re-read for the loaded catalog.
+     */
+    private record PendingReread(Set<Long> ids, long ticket) {
+    }
+}
@@ -0,0 +1,23 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.dto.game.GameInfoDTO;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A page of games read from the in-memory catalog.
+ */
+@Value
+public class GameCatalogPage {
+
+    /**
+     * The games of the page in id order.
+     */
+    List<GameInfoDTO> games;
+
+    /**
+     * The number of games matching the filter, -1 when not counted.
+     */
+    long total;
+}
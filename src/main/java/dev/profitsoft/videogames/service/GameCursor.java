@@ -0,0 +1,128 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.exception.exceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list of games used for cursor pagination: the order of the list, the id of the last game
+ * of the previous page and, for lists not ordered by id alone, the value of its sort key.
+ * Clients receive it as an opaque URL-safe token. A token is only accepted by a list with the same order,
+ * as its position means nothing in another order.
+ */
+@Value
+@AllArgsConstructor
+class GameCursor {
+
+    private static final char SEPARATOR = ':';
+    private static final String NOT_THIS_LIST = "Cursor does not belong to this list";
+
+    /**
+     * The order of the list the cursor was created for, such as TITLE_DESC.
+     */
+    String order;
+
+    long lastId;
+
+    /**
+     * The sort key of the last game of the previous page, null for lists ordered by id.
+     */
+    String sortValue;
+
+    GameCursor(String order, long lastId) {
+        this(order, lastId, null);
+    }
+
+    /**
+     * Checks that the cursor was created for a list with the given order.
+     *
+     * @param expectedOrder The order of the list being paged.
+     * @throws InvalidCursorException If the cursor was created for another order.
+     */
+    void requireOrder(String expectedOrder) {
+        if (!order.equals(expectedOrder)) {
+            throw new InvalidCursorException(NOT_THIS_LIST);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return The token to return to the client.
+     */
+    String encode() {
+        String value = order + SEPARATOR + lastId + (sortValue == null ? "" : SEPARATOR + sortValue);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the sort value as a float.
+     *
+     * @return The sort value of the last game of the previous page.
+     * @throws InvalidCursorException If the cursor has no float sort value.
+     */
+    float getSortValueAsFloat() {
+        try {
+            return Float.parseFloat(sortValue);
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new InvalidCursorException(NOT_THIS_LIST);
+        }
+    }
+
+    /**
+     * Reads the sort value as an int.
+     *
+     * @return The sort value of the last game of the previous page.
+     * @throws InvalidCursorException If the cursor has no int sort value.
+     */
+    int getSortValueAsInt() {
+        try {
+            return Integer.parseInt(sortValue);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(NOT_THIS_LIST);
+        }
+    }
+
+    /**
+     * Reads the sort value as a string.
+     *
+     * @return The sort value of the last game of the previous page.
+     * @throws InvalidCursorException If the cursor has no sort value.
+     */
+    String getSortValueAsString() {
+        if (sortValue == null) {
+            throw new InvalidCursorException(NOT_THIS_LIST);
+        }
+        return sortValue;
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token The token sent by the client.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException If the token was not created by {@link #encode()}.
+     */
+    static GameCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int orderEnd = value.indexOf(SEPARATOR);
+            if (orderEnd < 0) {
+                throw new InvalidCursorException("Invalid cursor %s".formatted(token));
+            }
+            String order = value.substring(0, orderEnd);
+            int idEnd = value.indexOf(SEPARATOR, orderEnd + 1);
+            if (idEnd < 0) {
+                return new GameCursor(order, Long.parseLong(value.substring(orderEnd + 1)));
+            }
+            return new GameCursor(order, Long.parseLong(value.substring(orderEnd + 1, idEnd)),
+                    value.substring(idEnd + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor %s".formatted(token));
+        }
+    }
+}
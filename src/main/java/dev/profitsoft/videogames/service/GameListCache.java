@@ -0,0 +1,110 @@
+package dev.profitsoft.videogames.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.profitsoft.videogames.dto.game.GameListDTO;
+import dev.profitsoft.videogames.event.GamePartition;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of game list pages by normalized request, bounded by {@code game.listCache.maximumSize}
+ * and {@code game.listCache.ttl}.
+ * After a write commits, only the pages whose developer and year criteria match the old or new values
+ * of a written game are evicted, pages of other developers and years stay cached.
+ * A page loaded while an eviction ran is not kept, as it may have been read before the write committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameListCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${game.listCache.maximumSize}")
+    private long maximumSize;
+
+    @Value("${game.listCache.ttl}")
+    private Duration ttl;
+
+    private Cache<GameListKey, GameListDTO> pages;
+    private CacheEvictionGuard<GameListKey, GameListDTO> evictionGuard;
+
+    @PostConstruct
+    void createCache() {
+        pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        evictionGuard = new CacheEvictionGuard<>(pages);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "game.lists");
+    }
+
+    /**
+     * Gets a page from the cache or loads and caches it.
+     *
+     * @param key    The normalized list request.
+     * @param loader Loads the page when it is not cached.
+     * @return The page.
+     */
+    GameListDTO get(GameListKey key, Supplier<GameListDTO> loader) {
+        GameListDTO cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadStart = evictionGuard.startLoad();
+        GameListDTO loaded = loader.get();
+        evictionGuard.putLoaded(Map.of(key, loaded), loadStart);
+        return loaded;
+    }
+
+    /**
+     * Evicts the pages that may contain the written games after the writing transaction commits.
+     *
+     * @param event The changed games.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesChanged(GamesChangedEvent event) {
+        if (event.isReloadRequired()) {
+            evictAll();
+            return;
+        }
+        Set<GamePartition> partitions = Stream.concat(event.getSaved().stream(), event.getPrevious().stream())
+                .map(GamePartition::of)
+                .collect(Collectors.toSet());
+        if (!partitions.isEmpty()) {
+            evict(partitions);
+        }
+    }
+
+    /**
+     * Evicts the pages that may contain games of the given developers and years of release.
+     *
+     * @param partitions The developers and years of release of the written games.
+     */
+    public void evict(Collection<GamePartition> partitions) {
+        evictionGuard.evict(() -> pages.asMap().keySet()
+                .removeIf(key -> partitions.stream().anyMatch(key::mayContain)));
+    }
+
+    /**
+     * Evicts all pages.
+     */
+    public void evictAll() {
+        evictionGuard.evict(pages::invalidateAll);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.dto.game.GameSortField;
+import dev.profitsoft.videogames.dto.game.PaginationMode;
+import dev.profitsoft.videogames.dto.game.SortDirection;
+import dev.profitsoft.videogames.dto.game.TotalMode;
+import dev.profitsoft.videogames.event.GamePartition;
+import dev.profitsoft.videogames.repository.GameFilter;
+import lombok.Value;
+
+/**
+ * Normalized game list request: defaults are filled in and fields that do not apply to the pagination mode are
+ * cleared, so requests for the same page are equal.
+ */
+@Value
+class GameListKey {
+    GameFilter filter;
+    GameSortField sort;
+    SortDirection direction;
+    PaginationMode pagination;
+
+    /**
+     * The way of computing total pages, null in CURSOR mode.
+     */
+    TotalMode total;
+
+    /**
+     * The page number, 0 in CURSOR mode.
+     */
+    int page;
+
+    int size;
+
+    /**
+     * The cursor of the previous page, null in OFFSET mode and for the first page.
+     */
+    String after;
+
+    /**
+     * Tells whether the list may contain games of the given developer and year of release,
+     * the genre criteria are not considered.
+     *
+     * @param partition The developer and year of release of a game.
+     * @return Whether the developer and year criteria of the list match the partition.
+     */
+    boolean mayContain(GamePartition partition) {
+        return (filter.getDeveloperId() == null || filter.getDeveloperId().equals(partition.getDeveloperId()))
+                && (filter.getYearReleased() == null || filter.getYearReleased() == partition.getYearReleased());
+    }
+}
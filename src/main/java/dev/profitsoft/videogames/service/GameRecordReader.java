@@ -0,0 +1,156 @@
+package dev.profitsoft.videogames.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.profitsoft.videogames.dto.game.GameUpdateDTO;
+import dev.profitsoft.videogames.exception.exceptions.FileParsingException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads uploaded games one by one from a stream.
+ * Gzip-compressed streams are recognized by their magic bytes and decompressed on the fly.
+ * The format is recognized by the first non-whitespace character: '[' starts a JSON array of games,
+ * '{' starts newline-delimited JSON (application/x-ndjson) with one game per line.
+ */
+abstract class GameRecordReader implements Closeable {
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    /**
+     * Detects the compression and format of the stream and opens a matching reader.
+     *
+     * @param inputStream       The uploaded stream.
+     * @param objectMapper      The mapper used to read games.
+     * @param onMalformedRecord Called for every NDJSON line that is not a valid game object.
+     * @return The reader positioned before the first game.
+     * @throws FileParsingException If the stream is neither a JSON array nor NDJSON.
+     */
+    static GameRecordReader open(InputStream inputStream, ObjectMapper objectMapper, Runnable onMalformedRecord)
+            throws IOException {
+        PushbackInputStream stream = new PushbackInputStream(decompress(new BufferedInputStream(inputStream)));
+        int first = skipWhitespace(stream);
+        if (first == '[') {
+            JsonParser parser = objectMapper.createParser(stream);
+            parser.nextToken();
+            return new JsonArrayReader(parser);
+        }
+        if (first == '{') {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            return new NdjsonReader(reader, objectMapper, onMalformedRecord);
+        }
+        stream.close();
+        throw new FileParsingException("File must contain a JSON array of games or newline-delimited JSON games");
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return The next game, or null when there are no more games.
+     * @throws IOException If the stream could not be read or is not well-formed.
+     */
+    abstract GameUpdateDTO next() throws IOException;
+
+    private static InputStream decompress(BufferedInputStream stream) throws IOException {
+        stream.mark(2);
+        boolean gzip = stream.read() == GZIP_MAGIC_FIRST && stream.read() == GZIP_MAGIC_SECOND;
+        stream.reset();
+        return gzip ? new GZIPInputStream(stream) : stream;
+    }
+
+    /**
+     * Skips leading whitespace and returns the first other byte, which is pushed back to the stream.
+     */
+    private static int skipWhitespace(PushbackInputStream stream) throws IOException {
+        int next = stream.read();
+        while (next != -1 && Character.isWhitespace(next)) {
+            next = stream.read();
+        }
+        if (next != -1) {
+            stream.unread(next);
+        }
+        return next;
+    }
+
+    /**
+     * Reads the elements of a single JSON array token by token.
+     * A malformed element makes the whole stream unreadable.
+     */
+    private static class JsonArrayReader extends GameRecordReader {
+
+        private final JsonParser parser;
+
+        private JsonArrayReader(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        GameUpdateDTO next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return parser.readValueAs(GameUpdateDTO.class);
+            }
+            if (token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            throw new FileParsingException("Unexpected token %s in games array".formatted(token));
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * Reads one game per line, blank lines are skipped and malformed lines are reported and skipped.
+     */
+    private static class NdjsonReader extends GameRecordReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final Runnable onMalformedRecord;
+
+        private NdjsonReader(BufferedReader reader, ObjectMapper objectMapper, Runnable onMalformedRecord) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+            this.onMalformedRecord = onMalformedRecord;
+        }
+
+        @Override
+        GameUpdateDTO next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    GameUpdateDTO dto = objectMapper.readValue(line, GameUpdateDTO.class);
+                    if (dto != null) {
+                        return dto;
+                    }
+                } catch (JsonProcessingException e) {
+                    // reported below like a null line
+                }
+                onMalformedRecord.run();
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
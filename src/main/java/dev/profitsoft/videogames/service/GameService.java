@@ -1,33 +1,64 @@
 package dev.profitsoft.videogames.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.profitsoft.videogames.dto.email.EmailDto;
 import dev.profitsoft.videogames.dto.game.*;
 import dev.profitsoft.videogames.entity.DeveloperEntity;
 import dev.profitsoft.videogames.entity.GameEntity;
+import dev.profitsoft.videogames.event.GameAddedEvent;
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
 import dev.profitsoft.videogames.exception.exceptions.DeveloperNotFoundException;
-import dev.profitsoft.videogames.exception.exceptions.FileParsingException;
 import dev.profitsoft.videogames.exception.exceptions.GameNotFoundException;
+import dev.profitsoft.videogames.exception.exceptions.InvalidCursorException;
 import dev.profitsoft.videogames.exception.exceptions.ReportGeneratingException;
 import dev.profitsoft.videogames.mapper.GameMapper;
+import dev.profitsoft.videogames.repository.GameFacetRepository;
+import dev.profitsoft.videogames.repository.GameFacetRepository.GameFacets;
+import dev.profitsoft.videogames.repository.GameFilter;
 import dev.profitsoft.videogames.repository.GameRepository;
+import dev.profitsoft.videogames.repository.GameStatisticsRepository;
+import dev.profitsoft.videogames.repository.GameTitleSearchRepository;
+import dev.profitsoft.videogames.repository.GameTitleSearchRepository.GameSearchHit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing game-related operations.
@@ -41,14 +72,33 @@ public class GameService {
      * It specifies the filename of the attachment as "games.csv".
      */
     private static final String HEADER = "attachment; filename=games.csv";
+    private static final String REPORT_HEADER = "Title;Genre\n";
     private static final String EXAMPLE_EMAIL = "admin@example.com";
+    private static final String TITLE_SEARCH_ORDER = "TITLE_SEARCH";
+    private static final String TITLE_SEARCH_PREFIX_ORDER = "TITLE_SEARCH_PREFIX";
 
     private final GameRepository gameRepository;
+    private final GameStatisticsRepository gameStatisticsRepository;
+    private final GameTitleSearchRepository gameTitleSearchRepository;
+    private final GameFacetRepository gameFacetRepository;
+    private final GameCatalogIndex gameCatalogIndex;
+    private final GameCache gameCache;
+    private final GameListCache gameListCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final DeveloperService developerService;
+    private final GenreService genreService;
     private final GameMapper gameMapper;
-    private final ObjectMapper objectMapper;
-    private final Validator validator;
     private final RabbitTemplate rabbitTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private SingleFlight<GameListKey, GameListDTO> listFlights;
+    private final ConcurrentMap<GameFilter, ReportSpool> reportSpools = new ConcurrentHashMap<>();
+    private Counter coalescedReports;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Value("${game.report.waitTimeout}")
+    private Duration reportWaitTimeout;
 
     @Value("${rabbit.exchangeName}")
     private String exchangeName;
@@ -56,6 +106,14 @@ public class GameService {
     @Value("${rabbit.routingKey}")
     private String routingKey;
 
+    @PostConstruct
+    void createCoalescing() {
+        listFlights = new SingleFlight<>(coalescedRequestCounter("list"));
+        coalescedReports = coalescedRequestCounter("report");
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
     /**
      * Saves a new game in the database.
      *
@@ -63,26 +121,62 @@ public class GameService {
      * @return The saved game representation.
      * @throws DeveloperNotFoundException If the developer provided does not exist.
      */
+    @Transactional
     public GameUpdateDTO saveGame(GameUpdateDTO dto) {
         GameEntity gameEntity = createGameEntityFromDTO(dto);
         GameEntity savedGame = gameRepository.save(gameEntity);
-
-        EmailDto email = createEmail(savedGame);
-        rabbitTemplate.convertAndSend(exchangeName, routingKey, email);
+        gameFacetRepository.adjustCounts(List.of(GameFacets.of(savedGame)), 1);
+        eventPublisher.publishEvent(GamesChangedEvent.saved(List.of(GameSnapshot.of(savedGame))));
+        eventPublisher.publishEvent(new GameAddedEvent(savedGame.getTitle()));
 
         return gameMapper.toGameUpdateDTO(savedGame);
     }
 
     /**
-     * Retrieves a game by ID.
+     * Sends the notification email about an added game once the saving transaction commits.
+     *
+     * @param event The added game.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameAdded(GameAddedEvent event) {
+        rabbitTemplate.convertAndSend(exchangeName, routingKey, createEmail(event.getTitle()));
+    }
+
+    /**
+     * Retrieves a game by ID, from the cache if possible.
      *
      * @param id the ID of the game to retrieve.
      * @return The retrieved game representation.
      * @throws GameNotFoundException If the game with provided ID is not found.
      */
     public GameDTO getGame(Long id) {
-        GameEntity gameEntity = getGameByIdOrThrow(id);
-        return gameMapper.toGameDTO(gameEntity);
+        return gameCache.get(id, key -> gameRepository.findWithDeveloperById(key).map(gameMapper::toGameDTO))
+                .orElseThrow(() -> new GameNotFoundException("Game with id %d not found".formatted(id)));
+    }
+
+    /**
+     * Retrieves several games by their IDs, the games that are not cached are loaded with a single query.
+     *
+     * @param ids The IDs of the games to retrieve.
+     * @return The games found and the IDs that were not found, in request order without duplicates.
+     */
+    public GameBatchDTO getGames(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, GameDTO> foundGames = gameCache.getAll(uniqueIds, missingIds ->
+                gameRepository.findWithDeveloperByIdIn(missingIds).stream()
+                        .map(gameMapper::toGameDTO)
+                        .collect(Collectors.toMap(GameDTO::getId, Function.identity())));
+        List<GameDTO> games = new ArrayList<>(foundGames.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            GameDTO game = foundGames.get(id);
+            if (game != null) {
+                games.add(game);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new GameBatchDTO(games, missingIds);
     }
 
     /**
@@ -93,10 +187,16 @@ public class GameService {
      * @throws GameNotFoundException      If the game with provided ID is not found.
      * @throws DeveloperNotFoundException If the developer provided does not exist.
      */
+    @Transactional
     public void updateGame(Long id, GameUpdateDTO dto) {
         GameEntity gameEntity = getGameByIdOrThrow(id);
+        GameFacets oldFacets = GameFacets.of(gameEntity);
+        GameSnapshot previous = GameSnapshot.of(gameEntity);
         updateValues(dto, gameEntity);
         gameRepository.save(gameEntity);
+        gameFacetRepository.adjustCounts(List.of(oldFacets), -1);
+        gameFacetRepository.adjustCounts(List.of(GameFacets.of(gameEntity)), 1);
+        eventPublisher.publishEvent(GamesChangedEvent.updated(previous, GameSnapshot.of(gameEntity)));
     }
 
     /**
@@ -105,73 +205,304 @@ public class GameService {
      * @param id The ID of the game to delete.
      * @throws GameNotFoundException If the game with provided ID is not found.
      */
+    @Transactional
     public void deleteGame(Long id) {
-        if (!gameRepository.existsById(id)) {
-            throw new GameNotFoundException("Game with id %d not found".formatted(id));
-        }
-        gameRepository.deleteById(id);
+        GameEntity gameEntity = getGameByIdOrThrow(id);
+        GameFacets facets = GameFacets.of(gameEntity);
+        GameSnapshot previous = GameSnapshot.of(gameEntity);
+        gameRepository.delete(gameEntity);
+        gameFacetRepository.adjustCounts(List.of(facets), -1);
+        eventPublisher.publishEvent(GamesChangedEvent.deleted(previous));
     }
 
     /**
-     * Retrieves a list of games based on search filters.
+     * Retrieves a list of games based on search filters, from the cache if possible.
+     * Concurrent requests for the same page share one lookup.
      *
      * @param dto The search filters.
-     * @return The list of games matching the filters and total pages of searched results.
+     * @return The list of games matching the filters, whether there is a next page and either total pages
+     *         of searched results (exact, estimated or none, see {@link TotalMode}) or the cursor of the next page.
+     * @throws InvalidCursorException If the cursor of the previous page is malformed or belongs to another list.
      */
     public GameListDTO retrieveGamesByFilters(GameSearchDTO dto) {
-        PageRequest pageRequest = PageRequest.of(dto.getPage() - 1, dto.getSize());
-        Page<GameEntity> gamesPage = gameRepository.findGamesWithFilters(dto.getDeveloperId(), dto.getYearReleased(), pageRequest);
-        List<GameInfoDTO> gameInfoDTOList = gamesPage.map(gameMapper::toGameInfoDTO).toList();
+        GameFilter filter = toGameFilter(dto);
+        GameListKey key = toGameListKey(dto, filter);
+        return listFlights.execute(key, () -> gameListCache.get(key, () -> findGamesByFilters(dto, filter)));
+    }
+
+    private GameListDTO findGamesByFilters(GameSearchDTO dto, GameFilter filter) {
+        if (isCursorPagination(dto)) {
+            return retrieveGamesAfterCursor(dto, filter);
+        }
+        TotalMode total = dto.getTotal() == null ? TotalMode.EXACT : dto.getTotal();
+        int page = getPage(dto);
+        int offset = (page - 1) * dto.getSize();
+        Optional<GameCatalogPage> catalogPage = isIdOrder(dto)
+                ? gameCatalogIndex.findGames(filter, null, offset, dto.getSize() + 1, total != TotalMode.NONE)
+                : Optional.empty();
+        if (catalogPage.isPresent()) {
+            return toGameListDTO(catalogPage.get(), dto.getSize());
+        }
+
+        PageRequest pageRequest = PageRequest.of(page - 1, dto.getSize(), toSort(dto));
+        if (total == TotalMode.EXACT) {
+            Page<GameInfoDTO> gamesPage = gameRepository.findGamesWithFilters(filter, pageRequest);
+            return new GameListDTO(gamesPage.getContent(), gamesPage.getTotalPages(), null, gamesPage.hasNext());
+        }
 
-        return new GameListDTO(gameInfoDTOList, gamesPage.getTotalPages());
+        Slice<GameInfoDTO> gamesSlice = gameRepository.findGameSliceWithFilters(filter, pageRequest);
+        Integer totalPages = total == TotalMode.ESTIMATED ? estimateTotalPages(filter, dto.getSize(), gamesSlice) : null;
+        return new GameListDTO(gamesSlice.getContent(), totalPages, null, gamesSlice.hasNext());
+    }
+
+    /**
+     * Estimates total pages from planner statistics, corrected by what the slice itself proves:
+     * the last slice gives the exact total, any other slice gives a lower bound.
+     */
+    private int estimateTotalPages(GameFilter filter, int size, Slice<GameInfoDTO> gamesSlice) {
+        long seen = gamesSlice.getPageable().getOffset() + gamesSlice.getNumberOfElements();
+        long estimated;
+        if (gamesSlice.hasNext()) {
+            estimated = Math.max(seen + 1,
+                    gameStatisticsRepository.estimateGamesWithFilters(filter));
+        } else {
+            estimated = seen;
+        }
+        return (int) ((estimated + size - 1) / size);
+    }
+
+    /**
+     * Converts a page read from the in-memory catalog, which has one game more than requested if there is a next page.
+     * The catalog counts exactly, so the total is exact whether EXACT or ESTIMATED was requested.
+     */
+    private GameListDTO toGameListDTO(GameCatalogPage catalogPage, int size) {
+        List<GameInfoDTO> games = catalogPage.getGames();
+        boolean hasNext = games.size() > size;
+        Integer totalPages = catalogPage.getTotal() < 0 ? null : (int) ((catalogPage.getTotal() + size - 1) / size);
+        return new GameListDTO(hasNext ? games.subList(0, size) : games, totalPages, null, hasNext);
+    }
+
+    /**
+     * Reads the page after the cursor. The cursor holds the order of the list, the id and, unless games are ordered
+     * by id, the sort value of the last game of the previous page.
+     */
+    private GameListDTO retrieveGamesAfterCursor(GameSearchDTO dto, GameFilter filter) {
+        GameSortField sortField = getSortField(dto);
+        String order = getCursorOrder(dto);
+        GameCursor after = dto.getAfter() == null ? null : GameCursor.decode(dto.getAfter());
+        if (after != null) {
+            after.requireOrder(order);
+        }
+        Long afterId = after == null ? null : after.getLastId();
+        Comparable<?> afterValue = after == null ? null : getSortValue(sortField, after);
+        Optional<GameCatalogPage> catalogPage = isIdOrder(dto)
+                ? gameCatalogIndex.findGames(filter, afterId, 0, dto.getSize() + 1, false)
+                : Optional.empty();
+        List<GameInfoDTO> games = catalogPage
+                .map(GameCatalogPage::getGames)
+                .orElseGet(() -> gameRepository.findGamesAfter(filter, toSort(dto), afterValue, afterId,
+                        dto.getSize() + 1));
+        String nextCursor = null;
+        if (games.size() > dto.getSize()) {
+            games = games.subList(0, dto.getSize());
+            nextCursor = createCursor(order, sortField, games.get(games.size() - 1)).encode();
+        }
+        return new GameListDTO(games, null, nextCursor, nextCursor != null);
+    }
+
+    private Comparable<?> getSortValue(GameSortField sortField, GameCursor cursor) {
+        return switch (sortField) {
+            case ID -> null;
+            case YEAR_RELEASED -> cursor.getSortValueAsInt();
+            case TITLE -> cursor.getSortValueAsString();
+        };
+    }
+
+    private GameCursor createCursor(String order, GameSortField sortField, GameInfoDTO lastGame) {
+        return switch (sortField) {
+            case ID -> new GameCursor(order, lastGame.getId());
+            case YEAR_RELEASED -> new GameCursor(order, lastGame.getId(), String.valueOf(lastGame.getYearReleased()));
+            case TITLE -> new GameCursor(order, lastGame.getId(), lastGame.getTitle());
+        };
+    }
+
+    /**
+     * Title search cursors record in their order whether the last game was a prefix match,
+     * as prefix matches and other matches are paged separately.
+     */
+    private boolean isPrefixMatchCursor(GameCursor cursor) {
+        if (cursor.getOrder().equals(TITLE_SEARCH_PREFIX_ORDER)) {
+            return true;
+        }
+        cursor.requireOrder(TITLE_SEARCH_ORDER);
+        return false;
+    }
+
+    private String getCursorOrder(GameSearchDTO dto) {
+        SortDirection direction = dto.getDirection() == null ? SortDirection.ASC : dto.getDirection();
+        return getSortField(dto).name() + "_" + direction.name();
+    }
+
+    private boolean isCursorPagination(GameSearchDTO dto) {
+        return dto.getPagination() == PaginationMode.CURSOR || dto.getAfter() != null;
+    }
+
+    private int getPage(GameSearchDTO dto) {
+        return dto.getPage() == null ? 1 : dto.getPage();
+    }
+
+    private GameListKey toGameListKey(GameSearchDTO dto, GameFilter filter) {
+        SortDirection direction = dto.getDirection() == null ? SortDirection.ASC : dto.getDirection();
+        if (isCursorPagination(dto)) {
+            return new GameListKey(filter, getSortField(dto), direction, PaginationMode.CURSOR, null, 0,
+                    dto.getSize(), dto.getAfter());
+        }
+        TotalMode total = dto.getTotal() == null ? TotalMode.EXACT : dto.getTotal();
+        return new GameListKey(filter, getSortField(dto), direction, PaginationMode.OFFSET, total, getPage(dto),
+                dto.getSize(), null);
+    }
+
+    private GameSortField getSortField(GameSearchDTO dto) {
+        return dto.getSort() == null ? GameSortField.ID : dto.getSort();
+    }
+
+    private Sort toSort(GameSearchDTO dto) {
+        Sort.Direction direction = dto.getDirection() == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, getSortField(dto).getProperty());
+    }
+
+    /**
+     * Whether games are listed in ascending id order, the only order the in-memory catalog serves.
+     */
+    private boolean isIdOrder(GameSearchDTO dto) {
+        return getSortField(dto) == GameSortField.ID && dto.getDirection() != SortDirection.DESC;
+    }
+
+    /**
+     * Counts the games matching search filters per year, developer and genre.
+     *
+     * @param dto The search filters, paging fields are ignored.
+     * @return The facet counts.
+     */
+    public GameFacetsDTO getFacets(GameSearchDTO dto) {
+        return gameFacetRepository.findFacets(toGameFilter(dto));
+    }
+
+    /**
+     * Searches games by title, tolerating typos. Best matches come first, pages are addressed by cursor.
+     *
+     * @param dto The search query and page.
+     * @return The matching games and the cursor of the next page.
+     * @throws InvalidCursorException If the cursor of the previous page is malformed or belongs to another list.
+     */
+    public GameListDTO searchGamesByTitle(GameTitleSearchDTO dto) {
+        GameCursor after = dto.getAfter() == null ? null : GameCursor.decode(dto.getAfter());
+        Boolean afterPrefixMatch = after == null ? null : isPrefixMatchCursor(after);
+        float afterDistance = after == null ? 0 : after.getSortValueAsFloat();
+        long afterId = after == null ? 0 : after.getLastId();
+        List<GameSearchHit> hits = gameTitleSearchRepository.searchByTitle(dto.getQuery().trim(), afterPrefixMatch,
+                afterDistance, afterId, dto.getSize() + 1);
+        String nextCursor = null;
+        if (hits.size() > dto.getSize()) {
+            hits = hits.subList(0, dto.getSize());
+            GameSearchHit last = hits.get(hits.size() - 1);
+            String order = last.isPrefixMatch() ? TITLE_SEARCH_PREFIX_ORDER : TITLE_SEARCH_ORDER;
+            nextCursor = new GameCursor(order, last.getGame().getId(), Float.toString(last.getDistance())).encode();
+        }
+        List<GameInfoDTO> games = hits.stream()
+                .map(GameSearchHit::getGame)
+                .toList();
+        return new GameListDTO(games, null, nextCursor, nextCursor != null);
     }
 
     /**
      * Generates a report of games based on search filters and writes it to the HTTP response.
+     * Games are read through a forward-only cursor and written row by row.
+     * Requests with the same filters that arrive while a report is waiting for its first byte share its query:
+     * the report is then also written to a temporary file, which they read while it is written.
+     * They wait for the first byte for at most {@code game.report.waitTimeout}, and generate the report themselves
+     * if it takes longer or fails before it. A report nobody joins is streamed without a copy.
      *
      * @param dto      The search filters.
      * @param response The HTTP response object.
      * @throws ReportGeneratingException If there was an error generating report.
      */
     public void generateReport(GameSearchDTO dto, HttpServletResponse response) {
+        setResponseHeaders(response);
+        GameFilter filter = toGameFilter(dto);
         try {
-            setResponseHeaders(response);
-            List<GameEntity> gameList = gameRepository.findAllForReport(dto.getDeveloperId(), dto.getYearReleased());
-            String reportData = generateReportData(gameList);
-            writeReportToResponse(response, reportData);
+            ReportSpool running = reportSpools.get(filter);
+            if (running != null && running.tryJoin()) {
+                coalescedReports.increment();
+                try {
+                    if (running.copyTo(response.getOutputStream(), reportWaitTimeout)) {
+                        return;
+                    }
+                } finally {
+                    running.release();
+                }
+            } else {
+                ReportSpool own = new ReportSpool(() -> reportSpools.remove(filter));
+                if (reportSpools.putIfAbsent(filter, own) == null) {
+                    generateSharedReport(filter, response, own);
+                    return;
+                }
+            }
+            writeReport(filter, response.getOutputStream());
         } catch (IOException e) {
             throw new ReportGeneratingException(e.getMessage());
         }
     }
 
+    private void generateSharedReport(GameFilter filter, HttpServletResponse response, ReportSpool spool)
+            throws IOException {
+        try {
+            try (OutputStream output = spool.tee(response.getOutputStream())) {
+                writeReport(filter, output);
+            }
+            spool.completed();
+        } catch (IOException | RuntimeException e) {
+            spool.failed();
+            throw e;
+        } finally {
+            reportSpools.remove(filter, spool);
+            spool.release();
+        }
+    }
+
     /**
-     * Uploads games from a JSON file to the database.
-     *
-     * @param file The JSON file containing game data.
-     * @return The upload summary.
-     * @throws FileParsingException if there was an error processing file.
+     * Streams the report in a read-only transaction.
      */
-    public GameUploadDTO uploadGamesFromJsonFile(MultipartFile file) {
-        List<GameEntity> gamesToSave = new ArrayList<>();
-        int invalidDto = 0;
-
-        List<GameUpdateDTO> dtoList = convertFileToDTOList(file);
-
-        for (GameUpdateDTO dto : dtoList) {
-            if (!isValid(dto)) {
-                invalidDto++;
-                continue;
-            }
-            try {
-                GameEntity gameEntity = createGameEntityFromDTO(dto);
-                gamesToSave.add(gameEntity);
-            } catch (DeveloperNotFoundException e) {
-                invalidDto++;
+    private void writeReport(GameFilter filter, OutputStream output) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<GameReportRowDTO> rows = gameRepository.streamAllForReport(filter)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                writer.write(REPORT_HEADER);
+                for (Iterator<GameReportRowDTO> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    writeReportRow(writer, iterator.next());
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new ReportGeneratingException(e.getMessage());
             }
-        }
+        });
+    }
+
+    private GameFilter toGameFilter(GameSearchDTO dto) {
+        Set<String> genres = dto.getGenres() == null ? Set.of() : dto.getGenres().stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(genre -> !genre.isEmpty())
+                .collect(Collectors.toSet());
+        GenreMatch genreMatch = dto.getGenreMatch() == null ? GenreMatch.ANY : dto.getGenreMatch();
+        return new GameFilter(dto.getDeveloperId(), dto.getYearReleased(), genres, genreMatch);
+    }
 
-        gameRepository.saveAll(gamesToSave);
-        return new GameUploadDTO(gamesToSave.size(), invalidDto);
+    private Counter coalescedRequestCounter(String operation) {
+        return Counter.builder("game.requests.coalesced")
+                .description("Requests that shared the result of an identical running request")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 
     private void setResponseHeaders(HttpServletResponse response) {
@@ -179,48 +510,27 @@ public class GameService {
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, HEADER);
     }
 
-    private String generateReportData(List<GameEntity> gameList) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Title;Genre\n");
-        for (GameEntity gameEntity : gameList) {
-            sb.append(gameEntity.getTitle());
-            sb.append(";");
-            sb.append(gameEntity.getGenre());
-            sb.append("\n");
-        }
-        return sb.toString();
-    }
-
-    private void writeReportToResponse(HttpServletResponse response, String reportData) throws IOException {
-        response.getOutputStream().write(reportData.getBytes(StandardCharsets.UTF_8));
-        response.getOutputStream().flush();
+    private void writeReportRow(Writer writer, GameReportRowDTO row) throws IOException {
+        writer.write(row.getTitle());
+        writer.write(';');
+        writer.write(String.valueOf(row.getGenre()));
+        writer.write('\n');
     }
 
     private GameEntity createGameEntityFromDTO(GameUpdateDTO dto) {
         DeveloperEntity developerEntity = developerService.findDeveloperByNameOrThrow(dto.getDeveloperName());
         GameEntity gameEntity = gameMapper.toGameEntity(dto);
         gameEntity.setDeveloper(developerEntity);
+        gameEntity.setGenres(genreService.findOrCreateGenres(dto.getGenre()));
         return gameEntity;
     }
 
-    private boolean isValid(GameUpdateDTO dto) {
-        return validator.validate(dto).isEmpty();
-    }
-
-    private List<GameUpdateDTO> convertFileToDTOList(MultipartFile file) {
-        try (BufferedInputStream bufferedInputStream = new BufferedInputStream(file.getInputStream())) {
-            return objectMapper.readerForListOf(GameUpdateDTO.class)
-                    .readValue(bufferedInputStream);
-        } catch (IOException e) {
-            throw new FileParsingException(e.getMessage());
-        }
-    }
-
     private void updateValues(GameUpdateDTO dto, GameEntity gameEntity) {
         DeveloperEntity developerEntity = developerService.findDeveloperByNameOrThrow(dto.getDeveloperName());
         gameEntity.setDeveloper(developerEntity);
         gameEntity.setTitle(dto.getTitle());
         gameEntity.setGenre(dto.getGenre());
+        gameEntity.setGenres(genreService.findOrCreateGenres(dto.getGenre()));
         gameEntity.setYearReleased(dto.getYearReleased());
     }
 
@@ -228,11 +538,11 @@ public class GameService {
         return gameRepository.findById(id).orElseThrow(() -> new GameNotFoundException("Game with id %d not found".formatted(id)));
     }
 
-    private EmailDto createEmail(GameEntity savedGame) {
+    private EmailDto createEmail(String title) {
         EmailDto email = new EmailDto();
         email.setEmail(EXAMPLE_EMAIL);
         email.setSubject("New Game Added");
-        email.setContent("New game with title %s added to system.".formatted(savedGame.getTitle()));
+        email.setContent("New game with title %s added to system.".formatted(title));
         return email;
     }
 }
@@ -0,0 +1,215 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.dto.game.GameUploadJobDTO;
+import dev.profitsoft.videogames.dto.game.UploadJobStatus;
+import dev.profitsoft.videogames.dto.game.UploadMode;
+import dev.profitsoft.videogames.entity.UploadJobEntity;
+import dev.profitsoft.videogames.exception.exceptions.FileParsingException;
+import dev.profitsoft.videogames.exception.exceptions.UploadJobNotFoundException;
+import dev.profitsoft.videogames.exception.exceptions.UploadRejectedException;
+import dev.profitsoft.videogames.repository.UploadJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for running game uploads as background jobs.
+ * Uploaded files are spooled to a temporary file and processed by the bounded upload executor,
+ * so the request thread is released as soon as the file is received.
+ * The state of every job is kept in the upload_job table, so any node can report it and it survives restarts.
+ * The node running a job writes its progress every {@code upload.jobs.heartbeatInterval};
+ * an unfinished job not written for {@code upload.jobs.staleAfter} is reported as failed, as its node stopped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameUploadJobService {
+
+    private static final String INTERRUPTED_ERROR = "Upload job was interrupted before it finished";
+
+    private final GameUploadService gameUploadService;
+
+    private final UploadJobRepository uploadJobRepository;
+
+    private final ThreadPoolTaskExecutor uploadExecutor;
+
+    /**
+     * The jobs queued or running on this node.
+     */
+    private final Map<String, UploadJob> localJobs = new ConcurrentHashMap<>();
+
+    @Value("${upload.jobs.retention}")
+    private Duration retention;
+
+    @Value("${upload.jobs.staleAfter}")
+    private Duration staleAfter;
+
+    /**
+     * Submits a JSON file to be uploaded in the background.
+     *
+     * @param file The JSON file containing an array of games.
+     * @param mode The way games are written to the database.
+     * @return The state of the queued job.
+     * @throws FileParsingException    If the file could not be stored for processing.
+     * @throws UploadRejectedException If the upload queue is full.
+     */
+    public GameUploadJobDTO submit(MultipartFile file, UploadMode mode) {
+        removeExpiredJobs();
+        Path spoolFile = spool(file);
+        UploadJob job = new UploadJob(UUID.randomUUID().toString());
+        uploadJobRepository.save(job.toEntity());
+        localJobs.put(job.id, job);
+        try {
+            uploadExecutor.execute(() -> run(job, spoolFile, mode));
+        } catch (TaskRejectedException e) {
+            localJobs.remove(job.id);
+            uploadJobRepository.deleteById(job.id);
+            deleteQuietly(spoolFile);
+            throw new UploadRejectedException("Upload queue is full, try again later");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Retrieves the state and progress of an upload job.
+     *
+     * @param jobId The ID of the job.
+     * @return The state of the job.
+     * @throws UploadJobNotFoundException If there is no job with the given ID.
+     */
+    public GameUploadJobDTO getJob(String jobId) {
+        UploadJob localJob = localJobs.get(jobId);
+        if (localJob != null) {
+            return localJob.toDTO();
+        }
+        UploadJobEntity job = uploadJobRepository.findById(jobId)
+                .orElseThrow(() -> new UploadJobNotFoundException("Upload job with id %s not found".formatted(jobId)));
+        if (job.getFinishedAt() == null && job.getUpdatedAt().isBefore(Instant.now().minus(staleAfter))) {
+            return toDTO(job.getId(), UploadJobStatus.FAILED, job.getSuccess(), job.getFail(),
+                    job.getStartedAt(), job.getUpdatedAt(), INTERRUPTED_ERROR);
+        }
+        return toDTO(job.getId(), job.getStatus(), job.getSuccess(), job.getFail(),
+                job.getStartedAt(), job.getFinishedAt(), job.getError());
+    }
+
+    /**
+     * Writes the progress of the jobs queued or running on this node, which also marks them as alive.
+     */
+    @Scheduled(fixedDelayString = "${upload.jobs.heartbeatInterval}")
+    public void writeProgress() {
+        Instant now = Instant.now();
+        localJobs.values().forEach(job -> uploadJobRepository.updateProgress(job.id, job.progress.getSuccess(),
+                job.progress.getFail(), now));
+    }
+
+    private void run(UploadJob job, Path spoolFile, UploadMode mode) {
+        try {
+            job.startedAt = Instant.now();
+            job.status = UploadJobStatus.RUNNING;
+            uploadJobRepository.save(job.toEntity());
+            try (InputStream inputStream = Files.newInputStream(spoolFile)) {
+                gameUploadService.uploadGames(inputStream, mode, job.progress);
+            }
+            job.finish(UploadJobStatus.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Upload job {} failed", job.id, e);
+            job.finish(UploadJobStatus.FAILED, e.getMessage());
+        } finally {
+            try {
+                uploadJobRepository.save(job.toEntity());
+            } finally {
+                localJobs.remove(job.id);
+                deleteQuietly(spoolFile);
+            }
+        }
+    }
+
+    private Path spool(MultipartFile file) {
+        try {
+            Path spoolFile = Files.createTempFile("game-upload-", ".json");
+            file.transferTo(spoolFile);
+            return spoolFile;
+        } catch (IOException e) {
+            throw new FileParsingException(e.getMessage());
+        }
+    }
+
+    private void removeExpiredJobs() {
+        uploadJobRepository.deleteFinishedBefore(Instant.now().minus(retention));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete upload file {}", file, e);
+        }
+    }
+
+    /**
+     * Mutable state of a single upload job.
+     */
+    private static class UploadJob {
+        private final String id;
+        private final UploadProgress progress = new UploadProgress();
+        private volatile UploadJobStatus status = UploadJobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private UploadJob(String id) {
+            this.id = id;
+        }
+
+        private void finish(UploadJobStatus status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private GameUploadJobDTO toDTO() {
+            return GameUploadJobService.toDTO(id, status, progress.getSuccess(), progress.getFail(),
+                    startedAt, finishedAt, error);
+        }
+
+        private UploadJobEntity toEntity() {
+            UploadJobEntity entity = new UploadJobEntity();
+            entity.setId(id);
+            entity.setStatus(status);
+            entity.setSuccess(progress.getSuccess());
+            entity.setFail(progress.getFail());
+            entity.setStartedAt(startedAt);
+            entity.setFinishedAt(finishedAt);
+            entity.setUpdatedAt(Instant.now());
+            entity.setError(error);
+            return entity;
+        }
+    }
+
+    private static GameUploadJobDTO toDTO(String id, UploadJobStatus status, int success, int fail,
+                                          Instant started, Instant finished, String error) {
+        int processed = success + fail;
+        double gamesPerSecond = 0;
+        if (started != null) {
+            Instant end = finished != null ? finished : Instant.now();
+            long millis = Math.max(1, Duration.between(started, end).toMillis());
+            gamesPerSecond = processed * 1000.0 / millis;
+        }
+        return new GameUploadJobDTO(id, status, processed, success, fail, gamesPerSecond, started, finished, error);
+    }
+}
@@ -0,0 +1,261 @@
+package dev.profitsoft.videogames.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.profitsoft.videogames.dto.game.GameUpdateDTO;
+import dev.profitsoft.videogames.dto.game.GameUploadDTO;
+import dev.profitsoft.videogames.dto.game.UploadMode;
+import dev.profitsoft.videogames.entity.DeveloperEntity;
+import dev.profitsoft.videogames.entity.GameEntity;
+import dev.profitsoft.videogames.entity.GenreEntity;
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
+import dev.profitsoft.videogames.exception.exceptions.FileParsingException;
+import dev.profitsoft.videogames.mapper.GameMapper;
+import dev.profitsoft.videogames.repository.GameCopyRepository;
+import dev.profitsoft.videogames.repository.GameCopyRepository.GameCopyResult;
+import dev.profitsoft.videogames.repository.GameCopyRepository.GameCopySession;
+import dev.profitsoft.videogames.repository.GameFacetRepository;
+import dev.profitsoft.videogames.repository.GameFacetRepository.GameFacets;
+import dev.profitsoft.videogames.repository.GameRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for uploading games from JSON or NDJSON files, optionally gzip-compressed.
+ * The file is read record by record and written to the database in chunks of {@code upload.chunkSize} games,
+ * so memory usage does not depend on the size of the file.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameUploadService {
+
+    private final GameRepository gameRepository;
+    private final GameCopyRepository gameCopyRepository;
+    private final GameFacetRepository gameFacetRepository;
+    private final DeveloperService developerService;
+    private final GenreService genreService;
+    private final GameMapper gameMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Executor uploadValidationExecutor;
+
+    @Value("${upload.chunkSize}")
+    private int chunkSize;
+
+    @Value("${upload.validation.pipelineDepth}")
+    private int pipelineDepth;
+
+    /**
+     * Uploads games from a JSON file to the database.
+     *
+     * @param file The JSON array or NDJSON file with games, optionally gzip-compressed.
+     * @param mode The way games are written to the database.
+     * @return The upload summary.
+     * @throws FileParsingException if there was an error processing file.
+     */
+    public GameUploadDTO uploadGamesFromJsonFile(MultipartFile file, UploadMode mode) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return uploadGames(inputStream, mode, new UploadProgress());
+        } catch (IOException e) {
+            throw new FileParsingException(e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads games from the raw request body to the database while it is being received.
+     *
+     * @param request The request with a JSON array or NDJSON body, optionally gzip-compressed.
+     * @param mode    The way games are written to the database.
+     * @return The upload summary.
+     * @throws FileParsingException if there was an error processing the body.
+     */
+    public GameUploadDTO uploadGamesFromRequestBody(HttpServletRequest request, UploadMode mode) {
+        try (InputStream inputStream = request.getInputStream()) {
+            return uploadGames(inputStream, mode, new UploadProgress());
+        } catch (IOException e) {
+            throw new FileParsingException(e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads games from a stream containing a JSON array or NDJSON, optionally gzip-compressed, to the database.
+     * In BATCH mode every chunk is committed separately and reported to the given progress as soon as it is saved,
+     * in COPY mode the games are committed and reported together at the end.
+     *
+     * @param inputStream The stream with the games.
+     * @param mode        The way games are written to the database.
+     * @param progress    The progress to report the processed games to.
+     * @return The upload summary.
+     * @throws FileParsingException if there was an error processing the stream.
+     */
+    public GameUploadDTO uploadGames(InputStream inputStream, UploadMode mode, UploadProgress progress) {
+        try (GameRecordReader reader = GameRecordReader.open(inputStream, objectMapper, () -> progress.addFail(1))) {
+            if (mode == UploadMode.COPY) {
+                copyGames(reader, progress);
+            } else {
+                readGames(reader, chunk -> saveChunk(chunk, progress), progress);
+            }
+        } catch (IOException e) {
+            throw new FileParsingException("%s (%d games saved before the error)"
+                    .formatted(e.getMessage(), progress.getSuccess()));
+        }
+        return progress.toUploadDTO();
+    }
+
+    private void copyGames(GameRecordReader reader, UploadProgress progress) throws IOException {
+        try (GameCopySession session = gameCopyRepository.openSession()) {
+            readGames(reader, chunk -> session.write(chunk.games()), progress);
+            GameCopyResult result = session.merge();
+            eventPublisher.publishEvent(GamesChangedEvent.reloadRequired());
+            progress.addSuccess(result.getSaved());
+            progress.addFail(result.getStaged() - result.getSaved());
+        }
+    }
+
+    /**
+     * Reads the games in chunks and runs the upload pipeline: chunks are validated and mapped in parallel
+     * on the validation executor, then passed to the writer one by one in file order.
+     * At most {@code upload.validation.pipelineDepth} chunks are in flight, when the limit is reached the reader
+     * waits for the oldest chunk to be written.
+     */
+    private void readGames(GameRecordReader reader, ChunkWriter writer, UploadProgress progress) throws IOException {
+        Deque<CompletableFuture<PreparedChunk>> inFlight = new ArrayDeque<>(pipelineDepth);
+        List<GameUpdateDTO> chunk = new ArrayList<>(chunkSize);
+        GameUpdateDTO dto;
+        while ((dto = reader.next()) != null) {
+            chunk.add(dto);
+            if (chunk.size() == chunkSize) {
+                submitChunk(chunk, inFlight, writer, progress);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submitChunk(chunk, inFlight, writer, progress);
+        }
+        while (!inFlight.isEmpty()) {
+            writeOldestChunk(inFlight, writer, progress);
+        }
+    }
+
+    private void submitChunk(List<GameUpdateDTO> chunk, Deque<CompletableFuture<PreparedChunk>> inFlight,
+                             ChunkWriter writer, UploadProgress progress) throws IOException {
+        if (inFlight.size() >= pipelineDepth) {
+            writeOldestChunk(inFlight, writer, progress);
+        }
+        inFlight.add(CompletableFuture.supplyAsync(() -> prepareChunk(chunk), uploadValidationExecutor));
+    }
+
+    private void writeOldestChunk(Deque<CompletableFuture<PreparedChunk>> inFlight, ChunkWriter writer,
+                                  UploadProgress progress) throws IOException {
+        PreparedChunk prepared;
+        try {
+            prepared = inFlight.remove().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        progress.addFail(prepared.invalid());
+        if (!prepared.games().isEmpty()) {
+            writer.write(prepared);
+        }
+    }
+
+    /**
+     * Validates the games of a chunk and maps the valid ones to entities, runs on the validation executor.
+     */
+    private PreparedChunk prepareChunk(List<GameUpdateDTO> chunk) {
+        List<GameUpdateDTO> games = new ArrayList<>(chunk.size());
+        List<GameEntity> entities = new ArrayList<>(chunk.size());
+        for (GameUpdateDTO dto : chunk) {
+            if (validator.validate(dto).isEmpty()) {
+                games.add(dto);
+                entities.add(gameMapper.toGameEntity(dto));
+            }
+        }
+        return new PreparedChunk(games, entities, chunk.size() - games.size());
+    }
+
+    /**
+     * Resolves the developers of a chunk with a single query and saves the games whose developer exists.
+     * Games with an unknown developer are counted as failed uploads.
+     * The genres of the saved games are resolved together, missing ones are added to the dictionary.
+     * The games and their facet counts are written in one transaction.
+     */
+    private void saveChunk(PreparedChunk chunk, UploadProgress progress) {
+        List<GameUpdateDTO> games = chunk.games();
+        Set<String> developerNames = games.stream()
+                .map(GameUpdateDTO::getDeveloperName)
+                .collect(Collectors.toSet());
+        Map<String, DeveloperEntity> developers = developerService.findDevelopersByNames(developerNames);
+
+        List<GameEntity> gamesToSave = new ArrayList<>(games.size());
+        for (int i = 0; i < games.size(); i++) {
+            DeveloperEntity developerEntity = developers.get(games.get(i).getDeveloperName());
+            if (developerEntity == null) {
+                continue;
+            }
+            GameEntity gameEntity = chunk.entities().get(i);
+            gameEntity.setDeveloper(developerEntity);
+            gamesToSave.add(gameEntity);
+        }
+        setGenres(gamesToSave);
+        List<GameFacets> facets = gamesToSave.stream()
+                .map(GameFacets::of)
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            gameRepository.saveAllInBatches(gamesToSave);
+            gameFacetRepository.adjustCounts(facets, 1);
+            eventPublisher.publishEvent(GamesChangedEvent.saved(gamesToSave.stream()
+                    .map(GameSnapshot::of)
+                    .toList()));
+        });
+        progress.addSuccess(gamesToSave.size());
+        progress.addFail(games.size() - gamesToSave.size());
+    }
+
+    private void setGenres(List<GameEntity> games) {
+        Set<String> genreNames = games.stream()
+                .flatMap(game -> GenreService.splitGenreNames(game.getGenre()).stream())
+                .collect(Collectors.toSet());
+        Map<String, GenreEntity> genres = genreService.findOrCreateGenres(genreNames);
+        for (GameEntity game : games) {
+            GenreService.splitGenreNames(game.getGenre())
+                    .forEach(name -> game.getGenres().add(genres.get(name)));
+        }
+    }
+
+    /**
+     * Valid games of a chunk with their mapped entities (in the same order) and the number of invalid games.
+     */
+    private record PreparedChunk(List<GameUpdateDTO> games, List<GameEntity> entities, int invalid) {
+    }
+
+    /**
+     * Destination of the valid games of an upload.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(PreparedChunk chunk) throws IOException;
+    }
+}
@@ -0,0 +1,85 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.entity.GenreEntity;
+import dev.profitsoft.videogames.repository.GenreRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the genre dictionary.
+ * The genre of a game is free text like "Action, Adventure", its comma-separated parts are the genre names.
+ */
+@Service
+@RequiredArgsConstructor
+public class GenreService {
+
+    private static final String SEPARATOR = ",";
+
+    private final GenreRepository genreRepository;
+
+    /**
+     * Splits the genre text of a game into genre names.
+     * Names are trimmed, blank and repeated names are dropped.
+     *
+     * @param genre The genre text, may be null.
+     * @return The genre names in order of appearance.
+     */
+    public static Set<String> splitGenreNames(String genre) {
+        if (genre == null) {
+            return Set.of();
+        }
+        return Arrays.stream(genre.split(SEPARATOR))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Finds GenreEntities by names, adding the names that are not in the dictionary yet.
+     *
+     * @param names The names of the genres
+     * @return A map of genre name to GenreEntity containing every given name
+     */
+    @Transactional
+    public Map<String, GenreEntity> findOrCreateGenres(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, GenreEntity> genres = new HashMap<>(findGenresByNames(names));
+        List<String> missing = names.stream()
+                .filter(name -> !genres.containsKey(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(genreRepository::insertIfAbsent);
+            genres.putAll(findGenresByNames(missing));
+        }
+        return genres;
+    }
+
+    /**
+     * Finds or adds the genres of a single game.
+     *
+     * @param genre The genre text of the game, may be null.
+     * @return The GenreEntities named in the text.
+     */
+    @Transactional
+    public Set<GenreEntity> findOrCreateGenres(String genre) {
+        return new LinkedHashSet<>(findOrCreateGenres(splitGenreNames(genre)).values());
+    }
+
+    private Map<String, GenreEntity> findGenresByNames(Collection<String> names) {
+        return genreRepository.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(GenreEntity::getName, Function.identity()));
+    }
+}
@@ -0,0 +1,239 @@
+package dev.profitsoft.videogames.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Shares a report being generated with identical requests that arrive before its first byte is written.
+ * Requests join while the generating request waits for its query. When the first byte is written, joining closes;
+ * if anyone joined, the report is also written to a temporary file, which the joined requests read while it grows.
+ * A report nobody joined is streamed as before, without a copy.
+ * The file is deleted when the last reader, the generating request included, releases the spool.
+ */
+@Slf4j
+final class ReportSpool {
+
+    private final Object lock = new Object();
+    private final Runnable onStarted;
+
+    /**
+     * The fields below are guarded by {@link #lock}.
+     */
+    private int joined;
+    private int readers = 1;
+    private boolean started;
+    private boolean completed;
+    private boolean failed;
+    private Path file;
+    private long written;
+
+    /**
+     * @param onStarted Runs when the first byte is written and no more requests can join.
+     */
+    ReportSpool(Runnable onStarted) {
+        this.onStarted = onStarted;
+    }
+
+    /**
+     * Joins the report, as long as its first byte was not written yet.
+     *
+     * @return Whether the report can be read, the caller must {@link #release()} the spool if so.
+     */
+    boolean tryJoin() {
+        synchronized (lock) {
+            if (started || completed || failed) {
+                return false;
+            }
+            joined++;
+            readers++;
+            return true;
+        }
+    }
+
+    /**
+     * Wraps the stream of the generating request so the report is also written to the spool file
+     * if any request joined before the first byte.
+     *
+     * @param target The response stream.
+     * @return The stream to write the report to.
+     */
+    OutputStream tee(OutputStream target) {
+        return new TeeOutputStream(target);
+    }
+
+    /**
+     * Marks the report as completely written.
+     */
+    void completed() {
+        synchronized (lock) {
+            completed = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Marks the generation as failed, joined requests that have not received any byte generate the report themselves.
+     */
+    void failed() {
+        synchronized (lock) {
+            failed = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Copies the report to a joined request while it is written.
+     *
+     * @param target  The response stream.
+     * @param timeout The maximum time to wait for the first byte.
+     * @return Whether the report was copied, false if it is not shared and must be generated by the caller.
+     * @throws IOException If the generation failed after bytes were copied, or the copy failed.
+     */
+    boolean copyTo(OutputStream target, Duration timeout) throws IOException {
+        if (!awaitStart(timeout)) {
+            return false;
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long position = 0;
+            while (true) {
+                long available;
+                synchronized (lock) {
+                    while (written == position && !completed && !failed) {
+                        waitForLock(0);
+                    }
+                    available = written;
+                    if (position == available) {
+                        if (failed) {
+                            throw new IOException("Shared report generation failed");
+                        }
+                        return true;
+                    }
+                }
+                int read = input.read(buffer, 0, (int) Math.min(buffer.length, available - position));
+                if (read < 0) {
+                    throw new IOException("Shared report file ended early");
+                }
+                target.write(buffer, 0, read);
+                position += read;
+            }
+        }
+    }
+
+    /**
+     * Unregisters a reader and deletes the file once no reader is left.
+     */
+    void release() {
+        Path deleted;
+        synchronized (lock) {
+            readers--;
+            deleted = readers == 0 ? file : null;
+        }
+        if (deleted != null) {
+            try {
+                Files.deleteIfExists(deleted);
+            } catch (IOException e) {
+                log.warn("Could not delete report spool file {}", deleted, e);
+            }
+        }
+    }
+
+    private boolean awaitStart(Duration timeout) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            long remaining = timeout.toNanos();
+            while (!started && !completed && !failed && remaining > 0) {
+                waitForLock(Math.max(1, remaining / 1_000_000));
+                remaining = deadline - System.nanoTime();
+            }
+            if (!started) {
+                joined--;
+                return false;
+            }
+            return file != null;
+        }
+    }
+
+    private void waitForLock(long millis) throws IOException {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a shared report");
+        }
+    }
+
+    /**
+     * Writes to the spool file, when requests joined, and to the response.
+     */
+    private final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private OutputStream copy;
+        private boolean writing;
+
+        TeeOutputStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!writing) {
+                start();
+            }
+            if (copy != null) {
+                copy.write(b, off, len);
+                synchronized (lock) {
+                    written += len;
+                    lock.notifyAll();
+                }
+            }
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        /**
+         * Closes the spool file, the response stream stays open for the servlet container.
+         */
+        @Override
+        public void close() throws IOException {
+            if (copy != null) {
+                copy.close();
+            }
+        }
+
+        private void start() {
+            writing = true;
+            synchronized (lock) {
+                started = true;
+                if (joined > 0) {
+                    try {
+                        file = Files.createTempFile("game-report", ".csv");
+                        copy = Files.newOutputStream(file);
+                    } catch (IOException e) {
+                        log.warn("Could not create a report spool file, joined requests generate the report", e);
+                        file = null;
+                    }
+                }
+                lock.notifyAll();
+            }
+            onStarted.run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dev.profitsoft.videogames.service;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is running, callers with an equal key wait for it
+ * and share its result or exception instead of running the call again.
+ * Calls are registered in a concurrent map, so callers with different keys never wait for each other.
+ *
+ * @param <K> The type of the keys identifying equal calls.
+ * @param <V> The type of the results.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    /**
+     * @param coalesced Counts the callers that shared the result of a running call.
+     */
+    SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Runs the call, or waits for the running call with an equal key and returns its result.
+     *
+     * @param key  The key identifying equal calls.
+     * @param call The call to run.
+     * @return The result of the call.
+     */
+    V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+        try {
+            V result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+
+    private V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
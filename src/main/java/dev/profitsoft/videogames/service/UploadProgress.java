@@ -0,0 +1,44 @@
+package dev.profitsoft.videogames.service;
+
+import dev.profitsoft.videogames.dto.game.GameUploadDTO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Running totals of a single upload.
+ * Safe to read from other threads while the upload is in progress.
+ */
+public class UploadProgress {
+
+    private final AtomicInteger success = new AtomicInteger();
+    private final AtomicInteger fail = new AtomicInteger();
+
+    void addSuccess(int count) {
+        success.addAndGet(count);
+    }
+
+    void addFail(int count) {
+        fail.addAndGet(count);
+    }
+
+    public int getSuccess() {
+        return success.get();
+    }
+
+    public int getFail() {
+        return fail.get();
+    }
+
+    public int getProcessed() {
+        return getSuccess() + getFail();
+    }
+
+    /**
+     * Creates an upload summary from the current totals.
+     *
+     * @return The upload summary.
+     */
+    public GameUploadDTO toUploadDTO() {
+        return new GameUploadDTO(getSuccess(), getFail());
+    }
+}
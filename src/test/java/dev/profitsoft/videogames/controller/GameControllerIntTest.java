@@ -1,40 +1,99 @@
 package dev.profitsoft.videogames.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
 import dev.profitsoft.videogames.VideoGamesApplication;
+import dev.profitsoft.videogames.dto.game.GameDTO;
 import dev.profitsoft.videogames.dto.game.GameListDTO;
+import dev.profitsoft.videogames.dto.game.GameUpdateDTO;
 import dev.profitsoft.videogames.dto.game.GameUploadDTO;
+import dev.profitsoft.videogames.dto.game.GameUploadJobDTO;
+import dev.profitsoft.videogames.dto.game.UploadJobStatus;
 import dev.profitsoft.videogames.dto.response.RestResponse;
 import dev.profitsoft.videogames.entity.DeveloperEntity;
 import dev.profitsoft.videogames.entity.GameEntity;
+import dev.profitsoft.videogames.entity.UploadJobEntity;
+import dev.profitsoft.videogames.event.CacheInvalidationMessage;
+import dev.profitsoft.videogames.event.CacheInvalidationMessage.EntityType;
+import dev.profitsoft.videogames.event.GamePartition;
+import dev.profitsoft.videogames.event.GameSnapshot;
+import dev.profitsoft.videogames.event.GamesChangedEvent;
 import dev.profitsoft.videogames.mapper.GameMapper;
 import dev.profitsoft.videogames.repository.GameRepository;
+import dev.profitsoft.videogames.repository.UploadJobRepository;
 import dev.profitsoft.videogames.service.DeveloperService;
+import dev.profitsoft.videogames.service.GameCache;
+import dev.profitsoft.videogames.service.GameCatalogIndex;
+import dev.profitsoft.videogames.service.GameListCache;
+import dev.profitsoft.videogames.service.GameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
-        classes = VideoGamesApplication.class)
+        classes = VideoGamesApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureMockMvc
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -49,6 +108,10 @@ class GameControllerIntTest {
     @ServiceConnection
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:alpine");
 
+    @Container
+    @ServiceConnection
+    static RabbitMQContainer rabbit = new RabbitMQContainer("rabbitmq:alpine");
+
     @Autowired
     private MockMvc mvc;
 
@@ -64,11 +127,51 @@ class GameControllerIntTest {
     @Autowired
     private DeveloperService developerService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GameCatalogIndex gameCatalogIndex;
+
+    @Autowired
+    private GameListCache gameListCache;
+
+    @Autowired
+    private GameCache gameCache;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UploadJobRepository uploadJobRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${rabbit.cacheInvalidationExchangeName}")
+    private String cacheInvalidationExchangeName;
+
+    @Value("${rabbit.queueName}")
+    private String emailQueueName;
+
     private GameEntity savedGame;
 
     @BeforeEach
     void setUp() {
         gameRepository.deleteAll();
+        gameListCache.evictAll();
         GameEntity gameEntity = new GameEntity();
         DeveloperEntity developerEntity = developerService.findDeveloperByNameOrThrow(DEVELOPER_NAME);
         gameEntity.setDeveloper(developerEntity);
@@ -268,7 +371,7 @@ class GameControllerIntTest {
                 }
                 """.formatted(YEAR_RELEASED, developerId, page, size);
 
-        GameListDTO listDTO = new GameListDTO(List.of(gameMapper.toGameInfoDTO(savedGame)), totalPages);
+        GameListDTO listDTO = new GameListDTO(List.of(gameMapper.toGameInfoDTO(savedGame)), totalPages, null, false);
 
         mvc.perform(post("/api/game/_list")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -296,7 +399,7 @@ class GameControllerIntTest {
                 }
                 """.formatted(YEAR_RELEASED, nonExistentId, page, size);
 
-        GameListDTO listDTO = new GameListDTO(List.of(), totalPages);
+        GameListDTO listDTO = new GameListDTO(List.of(), totalPages, null, false);
 
         mvc.perform(post("/api/game/_list")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -431,5 +534,1259 @@ class GameControllerIntTest {
                         jsonPath("$.failUploads").value(uploadDTO.getFailUploads())
                 );
     }
+
+    @Test
+    void uploadFromFile_MixedInputs_CountsEachRecord() throws Exception {
+        int invalidYear = 2030;
+        String json = """
+                [
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"},
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"},
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                ]
+                """.formatted(
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE,
+                TITLE, DEVELOPER_NAME, invalidYear, GENRE,
+                TITLE, "Unknown Developer", YEAR_RELEASED, GENRE);
+        GameUploadDTO uploadDTO = new GameUploadDTO(1, 2);
+
+        MockMultipartFile file = new MockMultipartFile("file", json.getBytes(StandardCharsets.UTF_8));
+
+        mvc.perform(multipart("/api/game/upload")
+                        .file(file))
+                .andExpectAll(
+                        status().isCreated(),
+                        content().json(objectMapper.writeValueAsString(uploadDTO))
+                );
+    }
+
+    @Test
+    void uploadFromFile_NotJson_ExceptionThrown() throws Exception {
+        String content = "title;developerName";
+        MockMultipartFile file = new MockMultipartFile("file", content.getBytes(StandardCharsets.UTF_8));
+
+        mvc.perform(multipart("/api/game/upload")
+                        .file(file))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void uploadFromFileAsync_ValidInput_JobCompletes() throws Exception {
+        String json = """
+                [
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                ]
+                """.formatted(TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+        MockMultipartFile file = new MockMultipartFile("file", json.getBytes(StandardCharsets.UTF_8));
+
+        String response = mvc.perform(multipart("/api/game/upload/_async")
+                        .file(file))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        GameUploadJobDTO job = objectMapper.readValue(response, GameUploadJobDTO.class);
+        String jobId = job.getJobId();
+        for (int attempt = 0; attempt < 50 && job.getFinishedAt() == null; attempt++) {
+            Thread.sleep(100);
+            String body = mvc.perform(get("/api/game/upload/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            job = objectMapper.readValue(body, GameUploadJobDTO.class);
+        }
+
+        assertEquals(UploadJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getSuccessUploads());
+        assertEquals(0, job.getFailUploads());
+    }
+
+    @Test
+    void getUploadJob_NonExistentId_ExceptionThrown() throws Exception {
+        mvc.perform(get("/api/game/upload/{jobId}", "non-existent"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void uploadFromFileCopyMode_MixedInputs_CountsEachRecord() throws Exception {
+        String json = """
+                [
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"},
+                  {"title": "Quoted \\"Title\\", with comma", "developerName": "%s", "yearReleased": %d},
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                ]
+                """.formatted(
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE,
+                DEVELOPER_NAME, YEAR_RELEASED,
+                TITLE, "Unknown Developer", YEAR_RELEASED, GENRE);
+        GameUploadDTO uploadDTO = new GameUploadDTO(2, 1);
+
+        MockMultipartFile file = new MockMultipartFile("file", json.getBytes(StandardCharsets.UTF_8));
+
+        mvc.perform(multipart("/api/game/upload")
+                        .file(file)
+                        .param("mode", "COPY"))
+                .andExpectAll(
+                        status().isCreated(),
+                        content().json(objectMapper.writeValueAsString(uploadDTO))
+                );
+        assertEquals(3, gameRepository.count());
+    }
+
+    @Test
+    void uploadFromFile_GzipNdjson_CountsEachLine() throws Exception {
+        String ndjson = """
+                {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+
+                {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                {"title": broken line
+                """.formatted(
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE,
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+        GameUploadDTO uploadDTO = new GameUploadDTO(2, 1);
+
+        MockMultipartFile file = new MockMultipartFile("file", "games.ndjson.gz",
+                "application/x-ndjson", compressed.toByteArray());
+
+        mvc.perform(multipart("/api/game/upload")
+                        .file(file))
+                .andExpectAll(
+                        status().isCreated(),
+                        content().json(objectMapper.writeValueAsString(uploadDTO))
+                );
+    }
+
+    @Test
+    void uploadFromRequestBody_Ndjson_Success() throws Exception {
+        String ndjson = """
+                {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                """.formatted(
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE,
+                TITLE, "Unknown Developer", YEAR_RELEASED, GENRE);
+        GameUploadDTO uploadDTO = new GameUploadDTO(1, 1);
+
+        mvc.perform(post("/api/game/upload/_stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpectAll(
+                        status().isCreated(),
+                        content().json(objectMapper.writeValueAsString(uploadDTO))
+                );
+    }
+
+    @Test
+    void findGamesWithFilters_CursorMode_PagesThroughAllGames() throws Exception {
+        GameEntity secondGame = new GameEntity();
+        secondGame.setDeveloper(savedGame.getDeveloper());
+        secondGame.setTitle(TITLE + " 2");
+        secondGame.setYearReleased(YEAR_RELEASED);
+        secondGame.setGenre(GENRE);
+        secondGame = gameRepository.save(secondGame);
+        String firstPageRequest = """
+                {
+                    "yearReleased": %d,
+                    "size": 1,
+                    "pagination": "CURSOR"
+                }
+                """.formatted(YEAR_RELEASED);
+
+        String firstPage = mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(savedGame.getId()),
+                        jsonPath("$.totalPages").doesNotExist(),
+                        jsonPath("$.nextCursor").isString()
+                )
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+        String secondPageRequest = """
+                {
+                    "yearReleased": %d,
+                    "size": 1,
+                    "after": "%s"
+                }
+                """.formatted(YEAR_RELEASED, nextCursor);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(secondGame.getId()),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    void findGamesWithFilters_InvalidCursor_ExceptionThrown() throws Exception {
+        String requestBody = """
+                {
+                    "size": 1,
+                    "after": "not a cursor"
+                }
+                """;
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findGamesWithFilters_TotalModeNone_NoTotalPages() throws Exception {
+        GameEntity secondGame = new GameEntity();
+        secondGame.setDeveloper(savedGame.getDeveloper());
+        secondGame.setTitle(TITLE + " 2");
+        secondGame.setYearReleased(YEAR_RELEASED);
+        secondGame.setGenre(GENRE);
+        gameRepository.save(secondGame);
+        String requestBody = """
+                {
+                    "yearReleased": %d,
+                    "page": 1,
+                    "size": 1,
+                    "total": "NONE"
+                }
+                """.formatted(YEAR_RELEASED);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(savedGame.getId()),
+                        jsonPath("$.totalPages").doesNotExist(),
+                        jsonPath("$.hasNext").value(true)
+                );
+    }
+
+    @Test
+    void findGamesWithFilters_TotalModeEstimatedLastPage_ExactTotalPages() throws Exception {
+        String requestBody = """
+                {
+                    "yearReleased": %d,
+                    "page": 1,
+                    "size": 10,
+                    "total": "ESTIMATED"
+                }
+                """.formatted(YEAR_RELEASED);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.totalPages").value(1),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void getGame_ValidInput_SingleStatement() throws Exception {
+        Statistics statistics = clearStatistics();
+
+        mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.developer.name").value(DEVELOPER_NAME)
+                );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2})
+    void findGamesWithFilters_AnyPageSize_FixedStatementCount(int size) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            GameEntity gameEntity = new GameEntity();
+            gameEntity.setDeveloper(savedGame.getDeveloper());
+            gameEntity.setTitle(TITLE + i);
+            gameEntity.setYearReleased(YEAR_RELEASED);
+            gameEntity.setGenre(GENRE);
+            gameRepository.save(gameEntity);
+        }
+        String requestBody = """
+                {
+                    "yearReleased": %d,
+                    "page": 1,
+                    "size": %d
+                }
+                """.formatted(YEAR_RELEASED, size);
+        Statistics statistics = clearStatistics();
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void generateReport_ValidInput_SingleStatement() throws Exception {
+        Statistics statistics = clearStatistics();
+
+        mvc.perform(post("/api/game/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics clearStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void searchGamesByTitle_Typo_BestMatchFirst() throws Exception {
+        GameEntity otherGame = new GameEntity();
+        otherGame.setDeveloper(savedGame.getDeveloper());
+        otherGame.setTitle("Another Game");
+        otherGame.setYearReleased(YEAR_RELEASED);
+        otherGame.setGenre(GENRE);
+        gameRepository.save(otherGame);
+        String requestBody = """
+                {
+                    "query": "Titlle",
+                    "size": 10
+                }
+                """;
+
+        mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(savedGame.getId()),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void searchGamesByTitle_Prefix_PagesThroughMatches() throws Exception {
+        GameEntity secondGame = new GameEntity();
+        secondGame.setDeveloper(savedGame.getDeveloper());
+        secondGame.setTitle(TITLE + " 2");
+        secondGame.setYearReleased(YEAR_RELEASED);
+        secondGame.setGenre(GENRE);
+        gameRepository.save(secondGame);
+        String firstPageRequest = """
+                {
+                    "query": "Test",
+                    "size": 1
+                }
+                """;
+
+        String firstPage = mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games.length()").value(1),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+        String secondPageRequest = """
+                {
+                    "query": "Test",
+                    "size": 1,
+                    "after": "%s"
+                }
+                """.formatted(nextCursor);
+
+        mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games.length()").value(1),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void searchGamesByTitle_NoQuery_ExceptionThrown() throws Exception {
+        mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"size\": 10}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ANY, 2", "ALL, 1"})
+    void findGamesWithFilters_Genres_MatchesGenreNames(String genreMatch, int expectedGames) throws Exception {
+        for (String genre : List.of("Puzzle, Adventure", "Adventure")) {
+            String game = """
+                    {
+                        "title": "%s",
+                        "developerName": "%s",
+                        "yearReleased": %d,
+                        "genre": "%s"
+                    }
+                    """.formatted(TITLE, DEVELOPER_NAME, YEAR_RELEASED, genre);
+            mvc.perform(post("/api/game")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(game))
+                    .andExpect(status().isCreated());
+        }
+        String requestBody = """
+                {
+                    "genres": ["Adventure", "Puzzle"],
+                    "genreMatch": "%s",
+                    "page": 1,
+                    "size": 10
+                }
+                """.formatted(genreMatch);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games.length()").value(expectedGames)
+                );
+    }
+
+    @Test
+    void getFacets_GameAddedAndDeleted_CountsFollow() throws Exception {
+        String filter = """
+                {
+                    "developerId": 3,
+                    "yearReleased": 2001
+                }
+                """;
+        String game = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": 2001,
+                    "genre": "Facet Genre"
+                }
+                """.formatted(TITLE, DEVELOPER_NAME);
+        long yearCount = countFacet(filter, "$.years['2001']");
+        long developerCount = countFacet(filter, "$.developers[?(@.id == 3)].count");
+        long genreCount = countFacet(filter, "$.genres['Facet Genre']");
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(game))
+                .andExpect(status().isCreated());
+        Long id = gameRepository.findAll().stream()
+                .filter(gameEntity -> gameEntity.getYearReleased() == 2001)
+                .findFirst().orElseThrow().getId();
+
+        assertEquals(yearCount + 1, countFacet(filter, "$.years['2001']"));
+        assertEquals(developerCount + 1, countFacet(filter, "$.developers[?(@.id == 3)].count"));
+        assertEquals(genreCount + 1, countFacet(filter, "$.genres['Facet Genre']"));
+
+        mvc.perform(delete("/api/game/{id}", id))
+                .andExpect(status().isOk());
+
+        assertEquals(yearCount, countFacet(filter, "$.years['2001']"));
+        assertEquals(genreCount, countFacet(filter, "$.genres['Facet Genre']"));
+    }
+
+    private long countFacet(String filter, String path) throws Exception {
+        String facets = mvc.perform(post("/api/game/_facets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Object count;
+        try {
+            count = JsonPath.read(facets, path);
+        } catch (PathNotFoundException e) {
+            return 0;
+        }
+        if (count instanceof List<?> counts) {
+            count = counts.isEmpty() ? null : counts.get(0);
+        }
+        return count == null ? 0 : ((Number) count).longValue();
+    }
+
+    @Test
+    void findGamesWithFilters_CatalogIndexEnabled_ServedFromMemory() throws Exception {
+        ReflectionTestUtils.setField(gameCatalogIndex, "enabled", true);
+        try {
+            gameCatalogIndex.reload();
+            String game = """
+                    {
+                        "title": "%s",
+                        "developerName": "%s",
+                        "yearReleased": %d,
+                        "genre": "%s"
+                    }
+                    """.formatted(TITLE + " 2", DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+            mvc.perform(post("/api/game")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(game))
+                    .andExpect(status().isCreated());
+            String requestBody = """
+                    {
+                        "developerId": 3,
+                        "yearReleased": %d,
+                        "page": 1,
+                        "size": 1
+                    }
+                    """.formatted(YEAR_RELEASED);
+            Statistics statistics = clearStatistics();
+
+            mvc.perform(post("/api/game/_list")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestBody))
+                    .andExpectAll(
+                            status().isOk(),
+                            jsonPath("$.games[0].id").value(savedGame.getId()),
+                            jsonPath("$.totalPages").value(2),
+                            jsonPath("$.hasNext").value(true)
+                    );
+
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            ReflectionTestUtils.setField(gameCatalogIndex, "enabled", false);
+        }
+    }
+
+    @Test
+    void findGamesWithFilters_SortedByTitleDescending_CursorPagesInOrder() throws Exception {
+        GameEntity secondGame = new GameEntity();
+        secondGame.setDeveloper(savedGame.getDeveloper());
+        secondGame.setTitle("Zork");
+        secondGame.setYearReleased(YEAR_RELEASED + 1);
+        secondGame.setGenre(GENRE);
+        secondGame = gameRepository.save(secondGame);
+        String firstPageRequest = """
+                {
+                    "size": 1,
+                    "pagination": "CURSOR",
+                    "sort": "TITLE",
+                    "direction": "DESC"
+                }
+                """;
+
+        String firstPage = mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(secondGame.getId()),
+                        jsonPath("$.games[0].yearReleased").value(YEAR_RELEASED + 1),
+                        jsonPath("$.nextCursor").isString()
+                )
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+        String secondPageRequest = """
+                {
+                    "size": 1,
+                    "after": "%s",
+                    "sort": "TITLE",
+                    "direction": "DESC"
+                }
+                """.formatted(nextCursor);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(savedGame.getId()),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    void getGames_FoundAndMissingIds_SingleStatement() throws Exception {
+        long missingId = savedGame.getId() + 1000;
+        String request = """
+                {
+                    "ids": [%d, %d, %d]
+                }
+                """.formatted(missingId, savedGame.getId(), savedGame.getId());
+        Statistics statistics = clearStatistics();
+
+        mvc.perform(post("/api/game/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games.length()").value(1),
+                        jsonPath("$.games[0].id").value(savedGame.getId()),
+                        jsonPath("$.games[0].developer.name").value(DEVELOPER_NAME),
+                        jsonPath("$.missingIds.length()").value(1),
+                        jsonPath("$.missingIds[0]").value(missingId)
+                );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getGames_NoIds_ExceptionThrown() throws Exception {
+        mvc.perform(post("/api/game/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void addGame_DeveloperAddedAfterFailedLookup_Success() throws Exception {
+        String developerName = "Studio Added Later";
+        String gameRequest = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": %d,
+                    "genre": "%s"
+                }
+                """.formatted(TITLE, developerName, YEAR_RELEASED, GENRE);
+        String developerRequest = """
+                {
+                    "name": "%s",
+                    "location": "Kyiv",
+                    "yearFounded": 2000,
+                    "numberOfEmployees": 10
+                }
+                """.formatted(developerName);
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gameRequest))
+                .andExpect(status().isNotFound());
+        mvc.perform(post("/api/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(developerRequest))
+                .andExpect(status().isCreated());
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gameRequest))
+                .andExpectAll(
+                        status().isCreated(),
+                        jsonPath("$.developerName").value(developerName)
+                );
+    }
+
+    @Test
+    void getGame_CachedAndUpdated_ServesLatestVersion() throws Exception {
+        String updatedTitle = "Cached Title";
+        String requestBody = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": %d,
+                    "genre": "%s"
+                }
+                """.formatted(updatedTitle, DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+        mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                .andExpect(status().isOk());
+        Statistics statistics = clearStatistics();
+
+        mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.title").value(TITLE)
+                );
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mvc.perform(put("/api/game/{id}", savedGame.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.title").value(updatedTitle)
+                );
+    }
+
+    @Test
+    void getGame_InvalidatedByOtherNode_ServesLatestVersion() throws Exception {
+        String updatedTitle = "Title Written Elsewhere";
+        mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                .andExpect(jsonPath("$.title").value(TITLE));
+        savedGame.setTitle(updatedTitle);
+        gameRepository.save(savedGame);
+
+        rabbitTemplate.convertAndSend(cacheInvalidationExchangeName, "",
+                new CacheInvalidationMessage(EntityType.GAME, List.of(savedGame.getId()), List.of(), "other-node"));
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                mvc.perform(get("/api/game/{id}", savedGame.getId()))
+                        .andExpect(jsonPath("$.title").value(updatedTitle)));
+    }
+
+    @Test
+    void findGamesWithFilters_GameAddedToOtherYear_PageStaysCached() throws Exception {
+        String listRequest = """
+                {
+                    "yearReleased": %d,
+                    "page": 1,
+                    "size": 10
+                }
+                """.formatted(YEAR_RELEASED);
+        String gameRequest = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": %d,
+                    "genre": "%s"
+                }
+                """;
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(listRequest))
+                .andExpect(jsonPath("$.games.length()").value(1));
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gameRequest.formatted(TITLE + " 2", DEVELOPER_NAME, YEAR_RELEASED + 1, GENRE)))
+                .andExpect(status().isCreated());
+        Statistics statistics = clearStatistics();
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(listRequest))
+                .andExpect(jsonPath("$.games.length()").value(1));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gameRequest.formatted(TITLE + " 3", DEVELOPER_NAME, YEAR_RELEASED, GENRE)))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(listRequest))
+                .andExpect(jsonPath("$.games.length()").value(2));
+    }
+
+    @Test
+    void generateReport_ConcurrentIdenticalRequests_SameReport() throws Exception {
+        String requestBody = """
+                {
+                    "yearReleased": %d
+                }
+                """.formatted(YEAR_RELEASED);
+        String expected = """
+                Title;Genre
+                %s;%s
+                """.formatted(savedGame.getTitle(), savedGame.getGenre());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> reports = executor.invokeAll(Collections.nCopies(8, () ->
+                    mvc.perform(post("/api/game/_report")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(requestBody))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsByteArray()));
+
+            for (Future<byte[]> report : reports) {
+                assertEquals(expected, new String(report.get(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void getGames_UpdatedWhileLoading_StaleGameNotCached() throws Exception {
+        String updatedTitle = "Updated During Load";
+        String requestBody = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": %d,
+                    "genre": "%s"
+                }
+                """.formatted(updatedTitle, DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+
+        Map<Long, GameDTO> loaded = gameCache.getAll(List.of(savedGame.getId()), missingIds -> {
+            Map<Long, GameDTO> oldGames = gameRepository.findWithDeveloperByIdIn(missingIds).stream()
+                    .collect(Collectors.toMap(GameEntity::getId, gameMapper::toGameDTO));
+            try {
+                mvc.perform(put("/api/game/{id}", savedGame.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(requestBody))
+                        .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return oldGames;
+        });
+
+        assertEquals(TITLE, loaded.get(savedGame.getId()).getTitle());
+        mvc.perform(post("/api/game/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [%d]}".formatted(savedGame.getId())))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].title").value(updatedTitle)
+                );
+    }
+
+    @Test
+    void findGamesWithFilters_CatalogChangeAppliedLate_LatestTitleKept() throws Exception {
+        ReflectionTestUtils.setField(gameCatalogIndex, "enabled", true);
+        try {
+            gameCatalogIndex.reload();
+            String updatedTitle = "Updated Title";
+            String game = """
+                    {
+                        "title": "%s",
+                        "developerName": "%s",
+                        "yearReleased": %d,
+                        "genre": "%s"
+                    }
+                    """.formatted(updatedTitle, DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+            mvc.perform(put("/api/game/{id}", savedGame.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(game))
+                    .andExpect(status().isOk());
+            long developerId = savedGame.getDeveloper().getId();
+            GameSnapshot current = new GameSnapshot(savedGame.getId(), developerId, YEAR_RELEASED, updatedTitle, GENRE);
+            GameSnapshot stale = new GameSnapshot(savedGame.getId(), developerId, YEAR_RELEASED, TITLE, GENRE);
+
+            gameCatalogIndex.onGamesChanged(GamesChangedEvent.updated(current, stale));
+
+            mvc.perform(post("/api/game/_list")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"page\": 1, \"size\": 1}"))
+                    .andExpectAll(
+                            status().isOk(),
+                            jsonPath("$.games[0].title").value(updatedTitle)
+                    );
+        } finally {
+            ReflectionTestUtils.setField(gameCatalogIndex, "enabled", false);
+        }
+    }
+
+    @Test
+    void findGamesWithFilters_CatalogIndexInvalidatedByOtherNode_ServesLatestVersion() throws Exception {
+        ReflectionTestUtils.setField(gameCatalogIndex, "enabled", true);
+        try {
+            gameCatalogIndex.reload();
+            String updatedTitle = "Title Written Elsewhere";
+            savedGame.setTitle(updatedTitle);
+            gameRepository.save(savedGame);
+            GamePartition partition = new GamePartition(savedGame.getDeveloper().getId(), YEAR_RELEASED);
+
+            rabbitTemplate.convertAndSend(cacheInvalidationExchangeName, "", new CacheInvalidationMessage(
+                    EntityType.GAME, List.of(savedGame.getId()), List.of(partition), "other-node"));
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                    mvc.perform(post("/api/game/_list")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"page\": 1, \"size\": 1}"))
+                            .andExpect(jsonPath("$.games[0].title").value(updatedTitle)));
+        } finally {
+            ReflectionTestUtils.setField(gameCatalogIndex, "enabled", false);
+        }
+    }
+
+    @Test
+    void generateReport_ConcurrentIdenticalRequests_SingleQuery() throws Exception {
+        String requestBody = """
+                {
+                    "yearReleased": %d
+                }
+                """.formatted(YEAR_RELEASED);
+        String expected = """
+                Title;Genre
+                %s;%s
+                """.formatted(savedGame.getTitle(), savedGame.getGenre());
+
+        List<byte[]> reports = whileGameTableLocked("report", 4, () ->
+                mvc.perform(post("/api/game/_report")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(requestBody))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsByteArray());
+
+        for (byte[] report : reports) {
+            assertEquals(expected, new String(report, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void findGamesWithFilters_ConcurrentIdenticalRequests_SingleQuery() throws Exception {
+        String requestBody = """
+                {
+                    "yearReleased": %d,
+                    "page": 1,
+                    "size": 10
+                }
+                """.formatted(YEAR_RELEASED);
+
+        List<String> pages = whileGameTableLocked("list", 4, () ->
+                mvc.perform(post("/api/game/_list")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(requestBody))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+
+        for (String page : pages) {
+            assertEquals(pages.get(0), page);
+        }
+    }
+
+    /**
+     * Holds an exclusive lock on the game table while the first request blocks on it and the others join it,
+     * then checks that all the others were coalesced into the first one.
+     */
+    private <T> List<T> whileGameTableLocked(String operation, int requests, Callable<T> request)
+            throws Exception {
+        Counter coalesced = meterRegistry.counter("game.requests.coalesced", "operation", operation);
+        double coalescedBefore = coalesced.count();
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try (Connection lock = dataSource.getConnection()) {
+            lock.setAutoCommit(false);
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("LOCK TABLE game IN ACCESS EXCLUSIVE MODE");
+            }
+            List<Future<T>> results = new ArrayList<>();
+            try {
+                results.add(executor.submit(request));
+                await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class) > 0);
+                for (int i = 1; i < requests; i++) {
+                    results.add(executor.submit(request));
+                }
+                await().atMost(Duration.ofSeconds(10))
+                        .until(() -> coalesced.count() - coalescedBefore == requests - 1);
+            } finally {
+                lock.rollback();
+            }
+            List<T> values = new ArrayList<>();
+            for (Future<T> result : results) {
+                values.add(result.get());
+            }
+            assertEquals(requests - 1, coalesced.count() - coalescedBefore);
+            return values;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void getUploadJob_RunningOnOtherNode_ServedFromDatabase() throws Exception {
+        UploadJobEntity job = uploadJob(UploadJobStatus.RUNNING, Instant.now());
+
+        mvc.perform(get("/api/game/upload/{jobId}", job.getId()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.status").value(UploadJobStatus.RUNNING.name()),
+                        jsonPath("$.successUploads").value(3),
+                        jsonPath("$.processed").value(4)
+                );
+    }
+
+    @Test
+    void getUploadJob_NodeStoppedWhileRunning_ReportedFailed() throws Exception {
+        UploadJobEntity job = uploadJob(UploadJobStatus.RUNNING, Instant.now().minus(Duration.ofHours(1)));
+
+        mvc.perform(get("/api/game/upload/{jobId}", job.getId()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.status").value(UploadJobStatus.FAILED.name()),
+                        jsonPath("$.finishedAt").isNotEmpty()
+                );
+    }
+
+    private UploadJobEntity uploadJob(UploadJobStatus status, Instant updatedAt) {
+        UploadJobEntity job = new UploadJobEntity();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(status);
+        job.setSuccess(3);
+        job.setFail(1);
+        job.setStartedAt(updatedAt);
+        job.setUpdatedAt(updatedAt);
+        return uploadJobRepository.save(job);
+    }
+
+    @Test
+    void findGamesWithFilters_DeveloperFilter_ServedByIndexInIdOrder() throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE game");
+                statement.execute("SET LOCAL enable_seqscan = off");
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN SELECT id FROM game WHERE developer_id = "
+                        + savedGame.getDeveloper().getId() + " ORDER BY id LIMIT 10")) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        assertTrue(plan.toString().contains("idx_developer_id_id"), plan.toString());
+        assertFalse(plan.toString().contains("Sort"), plan.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"size\": 0, \"pagination\": \"CURSOR\"}",
+            "{\"page\": 0, \"size\": 10}",
+            "{\"page\": 1, \"size\": 10, \"yearReleased\": 1900}"
+    })
+    void findGamesWithFilters_InvalidPaging_BadRequest(String requestBody) throws Exception {
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findGamesWithFilters_CursorOfOtherOrder_BadRequest() throws Exception {
+        GameEntity secondGame = new GameEntity();
+        secondGame.setDeveloper(savedGame.getDeveloper());
+        secondGame.setTitle(TITLE + " 2");
+        secondGame.setYearReleased(YEAR_RELEASED);
+        secondGame.setGenre(GENRE);
+        gameRepository.save(secondGame);
+        String firstPage = mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"size\": 1, \"pagination\": \"CURSOR\", \"sort\": \"TITLE\", \"direction\": \"DESC\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+        String requestBody = """
+                {
+                    "size": 1,
+                    "after": "%s",
+                    "sort": "TITLE"
+                }
+                """.formatted(nextCursor);
+
+        mvc.perform(post("/api/game/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchGamesByTitle_SeveralMatches_PrefixThenClosestFirst() throws Exception {
+        List<Long> savedIds = new ArrayList<>();
+        for (String title : List.of("Big Dragn", "Dragonfly", "Big Drag", "Drag Racing", "Another Game")) {
+            GameEntity game = new GameEntity();
+            game.setDeveloper(savedGame.getDeveloper());
+            game.setTitle(title);
+            game.setYearReleased(YEAR_RELEASED);
+            game.setGenre(GENRE);
+            savedIds.add(gameRepository.save(game).getId());
+        }
+        List<Long> ids = List.of(savedIds.get(3), savedIds.get(1), savedIds.get(2), savedIds.get(0));
+        String firstPageRequest = """
+                {
+                    "query": "Drag",
+                    "size": 3
+                }
+                """;
+
+        String firstPage = mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(firstPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(ids.get(0)),
+                        jsonPath("$.games[1].id").value(ids.get(1)),
+                        jsonPath("$.games[2].id").value(ids.get(2)),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn().getResponse().getContentAsString();
+        String secondPageRequest = """
+                {
+                    "query": "Drag",
+                    "size": 3,
+                    "after": "%s"
+                }
+                """.formatted((String) JsonPath.read(firstPage, "$.nextCursor"));
+
+        mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games.length()").value(1),
+                        jsonPath("$.games[0].id").value(ids.get(3)),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void searchGamesByTitle_PrefixMatchesSpanPages_PagesInOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String title : List.of("Drag Racing", "Big Drag")) {
+            GameEntity game = new GameEntity();
+            game.setDeveloper(savedGame.getDeveloper());
+            game.setTitle(title);
+            game.setYearReleased(YEAR_RELEASED);
+            game.setGenre(GENRE);
+            ids.add(gameRepository.save(game).getId());
+        }
+        String firstPage = mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\": \"Drag\", \"size\": 1}"))
+                .andExpect(jsonPath("$.games[0].id").value(ids.get(0)))
+                .andReturn().getResponse().getContentAsString();
+        String secondPageRequest = """
+                {
+                    "query": "Drag",
+                    "size": 1,
+                    "after": "%s"
+                }
+                """.formatted((String) JsonPath.read(firstPage, "$.nextCursor"));
+
+        mvc.perform(post("/api/game/_search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(secondPageRequest))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.games[0].id").value(ids.get(1)),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void findDevelopersByNames_EvictedWhileLoading_MissingNameNotCached() throws Exception {
+        String name = "Late Developer " + UUID.randomUUID();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection lock = dataSource.getConnection()) {
+            lock.setAutoCommit(false);
+            Future<Map<String, DeveloperEntity>> lookup;
+            try {
+                try (Statement statement = lock.createStatement()) {
+                    statement.execute("LOCK TABLE developer IN ACCESS EXCLUSIVE MODE");
+                }
+                lookup = executor.submit(() -> developerService.findDevelopersByNames(List.of(name)));
+                await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class) > 0);
+                developerService.evictCachedDeveloper(savedGame.getDeveloper().getId());
+            } finally {
+                lock.rollback();
+            }
+            assertTrue(lookup.get().isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+        jdbcTemplate.update("INSERT INTO developer (name, location, year_founded, number_of_employees) "
+                + "VALUES (?, 'Kyiv', 2000, 10)", name);
+
+        assertTrue(developerService.findDevelopersByNames(List.of(name)).containsKey(name));
+    }
+
+    @Test
+    void generateReport_NobodyJoins_NotSpooled() throws Exception {
+        Counter coalesced = meterRegistry.counter("game.requests.coalesced", "operation", "report");
+        double coalescedBefore = coalesced.count();
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        Set<Path> spoolsBefore = reportSpoolFiles(tempDir);
+        String requestBody = """
+                {
+                    "yearReleased": %d
+                }
+                """.formatted(YEAR_RELEASED);
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/api/game/_report")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestBody))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(coalescedBefore, coalesced.count());
+        assertEquals(spoolsBefore, reportSpoolFiles(tempDir));
+    }
+
+    private Set<Path> reportSpoolFiles(Path tempDir) throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("game-report"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    void saveGame_TransactionRolledBack_NoEmailSent() {
+        rabbitTemplate.execute(channel -> channel.queuePurge(emailQueueName));
+        GameUpdateDTO dto = new GameUpdateDTO("Rolled Back Game", DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gameService.saveGame(dto);
+            status.setRollbackOnly();
+        });
+
+        assertNull(rabbitTemplate.receive(emailQueueName, 1000));
+    }
+
+    @Test
+    void saveGame_Committed_EmailSent() {
+        rabbitTemplate.execute(channel -> channel.queuePurge(emailQueueName));
+        GameUpdateDTO dto = new GameUpdateDTO("Committed Game", DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+
+        gameService.saveGame(dto);
+
+        assertNotNull(rabbitTemplate.receive(emailQueueName, 5000));
+    }
+
+    @Test
+    void uploadFromFile_TitleTooLong_CountedAsFailed() throws Exception {
+        String json = """
+                [
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"},
+                  {"title": "%s", "developerName": "%s", "yearReleased": %d, "genre": "%s"}
+                ]
+                """.formatted(
+                TITLE, DEVELOPER_NAME, YEAR_RELEASED, GENRE,
+                "T".repeat(256), DEVELOPER_NAME, YEAR_RELEASED, GENRE);
+        GameUploadDTO uploadDTO = new GameUploadDTO(1, 1);
+
+        MockMultipartFile file = new MockMultipartFile("file", json.getBytes(StandardCharsets.UTF_8));
+
+        mvc.perform(multipart("/api/game/upload")
+                        .file(file))
+                .andExpectAll(
+                        status().isCreated(),
+                        content().json(objectMapper.writeValueAsString(uploadDTO))
+                );
+    }
+
+    @Test
+    void addGame_GenreTooLong_ExceptionThrown() throws Exception {
+        String requestBody = """
+                {
+                    "title": "%s",
+                    "developerName": "%s",
+                    "yearReleased": %d,
+                    "genre": "%s"
+                }
+                """.formatted(TITLE, DEVELOPER_NAME, YEAR_RELEASED, "G".repeat(256));
+
+        mvc.perform(post("/api/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getFacets_InvalidYear_ExceptionThrown() throws Exception {
+        String requestBody = """
+                {
+                    "yearReleased": 1900
+                }
+                """;
+
+        mvc.perform(post("/api/game/_facets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
 }
 